@@ -28,6 +28,8 @@ public final class Constants {
   public static final String REGEX_EMAIL = "^[_A-Za-z0-9-]+(\\.[_A-Za-z0-9-]+)*@[A-Za-z0-9]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$";
   public static final String REGEX_PASSWORD = "^(?=.*[a-z])(?=.*[A-Z]).{8,16}$";
 
+  public static final String ROLE_ADMINISTRATOR = "administrator";
+
   public static final String EXTRA_VERIFICATION_CODE_KEY = "extra_verification_code";
 
   public static final String COOKIES_EMAIL_VERIFICATION_CODE_KEY = "verification-key";
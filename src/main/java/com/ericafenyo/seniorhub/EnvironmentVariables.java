@@ -39,4 +39,25 @@ public class EnvironmentVariables {
     private String mailSender;
     private String baseUrl;
     private Long invitationExpirySeconds;
+    private boolean jwtStatelessPrincipal;
+    private long accountCacheSize;
+    private long accountCacheTtlSeconds;
+    private long teamRoleCacheSize;
+    private long teamRoleCacheTtlSeconds;
+    private int passwordHashThreads;
+    private int userImportMaxRows;
+    private int mailQueueCapacity;
+    private int mailQueueWorkers;
+    private int mailMaxAttempts;
+    private long mailRetryDelayMillis;
+    private int mailOutboxBatchSize;
+    private long mailOutboxPollMillis;
+    private int mailBatchSize;
+    private int mailPoolSize;
+    private long mailPoolIdleTimeoutSeconds;
+    private long verificationCodeStoreSize;
+    private long verificationCodeTtlSeconds;
+    private int verificationCodeMaxAttempts;
+    private int pageSizeDefault;
+    private int pageSizeMax;
 }
@@ -43,6 +43,28 @@ public class Messages {
     public static final String ERROR_RESOURCE_ALREADY_EXISTS_CODE = "error.resource.already.exists.code";
 
     public static final String MESSAGE_INVITATION_ACCEPTED = "message.invitation.accepted";
+    public static final String MESSAGE_INVITATIONS_SENT = "message.invitations.sent";
+    public static final String MESSAGE_USERS_IMPORTED = "message.users.imported";
+    public static final String MESSAGE_VERIFICATION_CODE_VERIFIED = "message.verification.code.verified";
+
+    public static final String ERROR_INVALID_CURSOR = "error.invalid.cursor";
+    public static final String ERROR_INVALID_CURSOR_CODE = "error.invalid.cursor.code";
+
+    public static final String ERROR_IMPORT_INVALID_CSV = "error.import.invalid.csv";
+    public static final String ERROR_IMPORT_INVALID_CSV_CODE = "error.import.invalid.csv.code";
+    public static final String ERROR_IMPORT_TOO_MANY_ROWS = "error.import.too.many.rows";
+    public static final String ERROR_IMPORT_TOO_MANY_ROWS_CODE = "error.import.too.many.rows.code";
+    public static final String ERROR_IMPORT_DUPLICATE_EMAIL = "error.import.duplicate.email";
+    public static final String ERROR_IMPORT_MISSING_PASSWORD = "error.import.missing.password";
+
+    public static final String ERROR_INVITATION_INVALID_EMAIL = "error.invitation.invalid.email";
+    public static final String ERROR_INVITATION_INVALID_ROLE = "error.invitation.invalid.role";
+    public static final String ERROR_INVITATION_DUPLICATE_EMAIL = "error.invitation.duplicate.email";
+    public static final String ERROR_INVITATION_ROLE_NOT_GRANTABLE = "error.invitation.role.not.grantable";
+    public static final String ERROR_INVITATION_ROLE_NOT_GRANTABLE_CODE = "error.invitation.role.not.grantable.code";
+
+    public static final String ERROR_USER_HAS_TEAMS = "error.user.has.teams";
+    public static final String ERROR_USER_HAS_TEAMS_CODE = "error.user.has.teams.code";
 
     private final MessageSource source;
 
@@ -26,9 +26,11 @@ package com.ericafenyo.seniorhub.configurations;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableTransactionManagement
 @EnableJpaAuditing
+@EnableScheduling
 public class ApplicationConfiguration { }
@@ -0,0 +1,58 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.configurations;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.implementation.utils.InMemoryVerificationCodeStore;
+import com.ericafenyo.seniorhub.spi.VerificationCodeStore;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Provides the default {@link VerificationCodeStore}.
+ * <p>
+ * Auto-configurations are processed after the beans of the application, so a {@link VerificationCodeStore} bean
+ * declared anywhere in the application replaces the in-memory store. The class is registered in
+ * {@code META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports} and left out of
+ * component scanning.
+ */
+@AutoConfiguration
+public class VerificationCodeStoreAutoConfiguration {
+
+  /**
+   * The in-memory verification code store, used unless another {@link VerificationCodeStore} bean is provided.
+   */
+  @Bean
+  @ConditionalOnMissingBean(VerificationCodeStore.class)
+  public VerificationCodeStore verificationCodeStore(EnvironmentVariables environment) {
+    return new InMemoryVerificationCodeStore(
+        environment.getVerificationCodeStoreSize(),
+        Duration.ofSeconds(environment.getVerificationCodeTtlSeconds())
+    );
+  }
+}
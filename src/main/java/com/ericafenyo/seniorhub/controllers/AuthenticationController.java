@@ -27,6 +27,7 @@ package com.ericafenyo.seniorhub.controllers;
 import com.ericafenyo.seniorhub.Constants;
 import com.ericafenyo.seniorhub.api.Tuple;
 import com.ericafenyo.seniorhub.dto.BasicAuthenticateRequest;
+import com.ericafenyo.seniorhub.dto.VerifyCodeDto;
 import com.ericafenyo.seniorhub.dto.VerifyEmailDto;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Report;
@@ -35,10 +36,12 @@ import com.ericafenyo.seniorhub.services.AccountService;
 import com.ericafenyo.seniorhub.services.EmailPasswordAuthenticationService;
 import com.ericafenyo.seniorhub.services.JwtAuthenticationService;
 import com.ericafenyo.seniorhub.services.MailService;
+import com.ericafenyo.seniorhub.services.VerificationCodeService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -52,6 +55,7 @@ public class AuthenticationController {
   private final JwtAuthenticationService jwtAuthenticationService;
   private final EmailPasswordAuthenticationService emailPasswordAuthenticationService;
   private final AccountService accountService;
+  private final VerificationCodeService verificationCodeService;
 
   @PostMapping("/auth/login")
   public Tokens authenticate(@RequestBody BasicAuthenticateRequest request) throws HttpException {
@@ -84,7 +88,10 @@ public class AuthenticationController {
   }
 
   @PostMapping("/auth/verify-code")
-  String verifyCode() {
-    return null;
+  public Report verifyCode(
+      @CookieValue(Constants.COOKIES_EMAIL_VERIFICATION_CODE_KEY) String storageKey,
+      @RequestBody @Valid VerifyCodeDto verifyCodeDto
+  ) throws HttpException {
+    return verificationCodeService.verify(storageKey, verifyCodeDto.getCode());
   }
 }
@@ -26,10 +26,12 @@ package com.ericafenyo.seniorhub.controllers;
 
 import com.ericafenyo.seniorhub.dto.CreateEventRequest;
 import com.ericafenyo.seniorhub.dto.UpdateEventRequest;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
 import com.ericafenyo.seniorhub.model.Event;
 import com.ericafenyo.seniorhub.services.EventService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -47,6 +49,11 @@ public class EventController {
     return service.getEvents();
   }
 
+  @GetMapping(value = "events", produces = NdjsonWriter.MEDIA_TYPE)
+  public StreamingResponseBody exportEvents() {
+    return service::exportEvents;
+  }
+
   @GetMapping("events/{id}")
   public Event getUserById(@PathVariable String id) throws Exception {
     return service.getEventById(id);
@@ -25,12 +25,16 @@
 package com.ericafenyo.seniorhub.controllers;
 
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
+import com.ericafenyo.seniorhub.dto.BatchInvitationRequest;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 
 import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport;
+import com.ericafenyo.seniorhub.model.PagedList;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Team;
 import com.ericafenyo.seniorhub.requests.CreateTaskRequest;
@@ -40,6 +44,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -48,9 +53,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -68,15 +74,31 @@ public class TeamController {
     }
 
     @GetMapping("/teams")
-    public List<Team> getTeams() {
-        return service.getTeams();
+    public PagedList<Team> getTeams(
+        @RequestParam(required = false) String creator,
+        @RequestParam(required = false) String member,
+        @RequestParam(required = false) String name,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(required = false) Integer size,
+        Authentication authentication
+    ) {
+        var userId = Accounts.extractUserId(authentication);
+        return service.getTeams(userId, creator, member, name, page, size);
+    }
+
+    @GetMapping(value = "/teams", produces = NdjsonWriter.MEDIA_TYPE)
+    public StreamingResponseBody exportTeams(Authentication authentication) {
+        var userId = Accounts.extractUserId(authentication);
+        return output -> service.exportTeams(userId, output);
     }
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #id, 'teams:read')")
     @GetMapping("/teams/{id}")
     public Team getUserById(@PathVariable @Valid @NotBlank String id) throws Exception {
         return service.getTeamById(id);
     }
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #id, 'teams:update')")
     @PutMapping("/teams/{id}")
     public Team updateUser(
         @PathVariable @Valid @NotBlank String id,
@@ -85,6 +107,7 @@ public class TeamController {
         return service.updateTeam(id, userUpdateDto);
     }
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #id, 'teams:delete')")
     @DeleteMapping("/teams/{id}")
     public void deleteTeam(@PathVariable @Valid @NotBlank String id) {
         service.deleteTeam(id);
@@ -92,6 +115,7 @@ public class TeamController {
 
     // Invitation sub-resources
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #teamId, 'invitations:create')")
     @PostMapping("/teams/{id}/invitations")
     public Object invite(
         @PathVariable("id") String teamId,
@@ -102,8 +126,20 @@ public class TeamController {
         return service.invite(teamId, userId, request.getRole(), request.getEmail());
     }
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #teamId, 'invitations:create')")
+    @PostMapping("/teams/{id}/invitations:batch")
+    public InvitationBatchReport inviteAll(
+        @PathVariable("id") String teamId,
+        @RequestBody @Valid BatchInvitationRequest request,
+        Authentication authentication
+    ) throws HttpException {
+        var userId = Accounts.extractUserId(authentication);
+        return service.inviteAll(teamId, userId, request.getInvitations());
+    }
+
     // Task sub-resources
 
+    @PreAuthorize("@teamAuthorization.hasPermission(authentication, #id, 'tasks:create')")
     @PostMapping("/teams/{id}/tasks")
     public Task createTask(
         @PathVariable String id,
@@ -26,14 +26,23 @@ package com.ericafenyo.seniorhub.controllers;
 
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.ericafenyo.seniorhub.dto.UpdatePasswordRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
+import com.ericafenyo.seniorhub.model.CursorPage;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.model.UserImportReport;
 import com.ericafenyo.seniorhub.services.UserService;
 import com.ericafenyo.seniorhub.util.Accounts;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -42,8 +51,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -57,9 +70,39 @@ public class UserController {
         return service.createUser(request);
     }
 
+    @PreAuthorize("hasAuthority('users:import')")
+    @PostMapping(value = "/users:import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public UserImportReport importUsers(@RequestBody List<CreateUserRequest> requests) throws HttpException {
+        return service.importUsers(requests);
+    }
+
+    @PreAuthorize("hasAuthority('users:import')")
+    @PostMapping(value = "/users:import", consumes = "text/csv")
+    public UserImportReport importUsers(InputStream csv) throws HttpException {
+        return service.importUsers(csv);
+    }
+
     @GetMapping("/users")
-    public List<User> getUsers() {
-        return service.getUsers();
+    public ResponseEntity<CursorPage<User>> getUsers(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
+    ) throws HttpException {
+        var page = service.getUsers(cursor, limit);
+
+        var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .toUriString();
+            response.header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(next));
+        }
+
+        return response.body(page);
+    }
+
+    @GetMapping(value = "/users", produces = NdjsonWriter.MEDIA_TYPE)
+    public StreamingResponseBody exportUsers() {
+        return service::exportUsers;
     }
 
     @GetMapping("/users/{id}")
@@ -78,8 +121,13 @@ public class UserController {
         return service.updateUser(id, userUpdateDto);
     }
 
+    @PutMapping("/users/me/password")
+    public void updatePassword(Authentication authentication, @RequestBody @Valid UpdatePasswordRequest request) throws HttpException {
+        service.updatePassword(Accounts.extractUserId(authentication), request);
+    }
+
     @DeleteMapping("/users/{id}")
-    public void deleteUser(@PathVariable String id) {
+    public void deleteUser(@PathVariable String id) throws HttpException {
         service.deleteUser(id);
     }
 
@@ -90,7 +138,7 @@ public class UserController {
     }
 
     @GetMapping("/users/{id}/teams")
-    public List<Team> getUserTeams(@PathVariable String id) throws HttpException {
+    public List<TeamSummary> getUserTeams(@PathVariable String id) throws HttpException {
         return service.getUserTeams(id);
     }
 }
@@ -25,10 +25,12 @@
 package com.ericafenyo.seniorhub.dao;
 
 import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.model.Account;
 
 import java.util.Optional;
 
 public interface CredentialDao {
   Optional<CredentialEntity> findByUserId(Long userId);
+  Optional<Account> findAccountByEmail(String email);
   CredentialEntity save(CredentialEntity entity);
 }
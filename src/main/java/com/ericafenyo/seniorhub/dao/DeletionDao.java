@@ -0,0 +1,47 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.dao;
+
+import java.util.Collection;
+
+public interface DeletionDao {
+  /**
+   * Deletes the teams with the given uuids, with their tasks, appointments, medications, reminders, notes,
+   * invitations and memberships.
+   *
+   * @return The number of teams deleted.
+   */
+  int deleteTeams(Collection<String> teamIds);
+
+  /**
+   * Deletes the users with the given uuids, with their credentials, addresses, memberships, task assignments,
+   * caretaker links and the invitations they sent. The notes and appointments they wrote are kept without author.
+   * <p>
+   * The teams created by the users are not deleted, a user cannot be deleted while the teams they created exist.
+   *
+   * @return The number of users deleted.
+   */
+  int deleteUsers(Collection<String> userIds);
+}
@@ -25,12 +25,29 @@
 package com.ericafenyo.seniorhub.dao;
 
 import com.ericafenyo.seniorhub.entities.EventEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventDao extends CrudRepository<EventEntity, Long> {
   Optional<EventEntity> findByUuid(String uuid);
+
+  @Modifying
+  @Query("DELETE FROM events as e WHERE e.uuid = ?1")
+  int deleteByUuid(String uuid);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT e FROM events as e")
+  Stream<EventEntity> streamAll();
 }
@@ -24,20 +24,19 @@
 
 package com.ericafenyo.seniorhub.entities;
 
-import jakarta.persistence.CascadeType;
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.util.UUID;
-
 /**
  * A database entity for an address with country, city, street, and postal code information.
  */
@@ -49,7 +48,8 @@ public class AddressEntity {
      * The unique identifier for the address.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "addresses_id")
+    @GenericGenerator(name = "addresses_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -58,8 +58,9 @@ public class AddressEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
     ;
     /**
      * Indicates a precise street address.
@@ -72,13 +73,13 @@ public class AddressEntity {
     /**
      * The city of the address.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "city_id")
     private CityEntity city;
     /**
      * The country of the address.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "country_id")
     private CountryEntity country;
 }
@@ -24,15 +24,17 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -40,19 +42,20 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity(name = "appointments")
 @EntityListeners(AuditingEntityListener.class)
 @Data
 public class AppointmentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "appointments_id")
+    @GenericGenerator(name = "appointments_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     @Column(name = "title")
     private String title;
@@ -24,12 +24,17 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -40,6 +45,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  * A database entity representing a city of a country.
  */
 @Entity(name = "cities")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_cities_name", columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -49,7 +57,8 @@ public class CityEntity {
      * The unique identifier for the city.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "cities_id")
+    @GenericGenerator(name = "cities_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -24,11 +24,16 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -37,6 +42,9 @@ import lombok.experimental.Accessors;
  * A database entity representing a country.
  */
 @Entity(name = "countries")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_countries_name", columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @Accessors(chain = true)
@@ -45,7 +53,8 @@ public class CountryEntity {
      * The unique identifier for the country.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "countries_id")
+    @GenericGenerator(name = "countries_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -24,22 +24,26 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Entity class representing user credentials.
@@ -47,6 +51,7 @@ import java.util.UUID;
  * <p>The {@code CredentialEntity} class is mapped to the "credentials" table in the database.
  */
 @Entity(name = "credentials")
+@Table(uniqueConstraints = {@UniqueConstraint(name = "ux_credentials_user_id", columnNames = {"user_id"})})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 public class CredentialEntity {
@@ -55,7 +60,8 @@ public class CredentialEntity {
      * The unique identifier for the credential.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "credentials_id")
+    @GenericGenerator(name = "credentials_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -64,8 +70,9 @@ public class CredentialEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     /**
      * The password associated with the credential.
@@ -73,11 +80,27 @@ public class CredentialEntity {
     @Column(name = "password")
     private String password;
 
+    /**
+     * The version of the credential, embedded in issued tokens.
+     * <p>
+     * Incrementing it revokes every token issued before the change.
+     */
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion = 0;
+
+    /**
+     * The application-wide authorities granted to the user, separated by spaces, e.g. {@code users:import}.
+     * <p>
+     * Granted by an operator, no endpoint writes them.
+     */
+    @Column(name = "authorities")
+    private String authorities;
+
     /**
      * The user associated with the credential.
      */
-    @OneToOne()
-    @JoinColumn(name = "user_id")
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
     /**
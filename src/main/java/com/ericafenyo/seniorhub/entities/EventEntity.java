@@ -25,11 +25,12 @@
 package com.ericafenyo.seniorhub.entities;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -44,11 +45,13 @@ import java.time.LocalTime;
 @Data
 public class EventEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "events_id")
+  @GenericGenerator(name = "events_id", type = PooledIdGenerator.class)
   @Column(name = "id")
   private Long id;
 
-  @Column(name = "uuid")
+  @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+  @Convert(converter = UuidConverter.class)
   private String uuid;
 
   @Column(name = "name")
@@ -25,16 +25,20 @@
 package com.ericafenyo.seniorhub.entities;
 
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -44,12 +48,12 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * A database entity representing an invitation to add a member to a team.
  */
 @Entity(name = "invitations")
+@Table(indexes = @Index(name = "ix_invitations_email_status", columnList = "email, status"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @ToString @Accessors(chain = true)
 public class InvitationEntity {
@@ -57,7 +61,8 @@ public class InvitationEntity {
      * The unique identifier for the entity.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "invitations_id")
+    @GenericGenerator(name = "invitations_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -66,8 +71,9 @@ public class InvitationEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true, nullable = false)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     /**
      * The email address of the invitation recipient
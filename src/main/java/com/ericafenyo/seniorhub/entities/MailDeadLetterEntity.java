@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import org.hibernate.annotations.GenericGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * A database entity representing an email that could not be delivered after all retry attempts.
+ */
+@Entity(name = "mail_dead_letters")
+@EntityListeners(AuditingEntityListener.class)
+@Getter @Setter @Accessors(chain = true)
+public class MailDeadLetterEntity {
+    /**
+     * The unique identifier for the entity.
+     */
+    @Id
+    @GeneratedValue(generator = "mail_dead_letters_id")
+    @GenericGenerator(name = "mail_dead_letters_id", type = PooledIdGenerator.class)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The universally unique identifier for the entity.
+     * <p>
+     * This is the actual id revealed publicly, the primary id is kept internally.
+     */
+    @Column(name = "uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
+
+    /**
+     * The email address of the sender
+     */
+    @Column(name = "sender")
+    private String sender;
+
+    /**
+     * The email address of the recipient
+     */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /**
+     * The subject of the email
+     */
+    @Column(name = "subject")
+    private String subject;
+
+    /**
+     * The HTML body of the email
+     */
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * The number of delivery attempts made
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The reason of the last delivery failure
+     */
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    /**
+     * The date and time when the email was dead-lettered
+     */
+    @CreatedDate
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import org.hibernate.annotations.GenericGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * A database entity representing an email waiting to be sent by the outbox relay.
+ * <p>
+ * Rows are written in the same transaction as the change that triggers the email,
+ * and removed by the outbox relay once the email has been delivered or stored as a dead letter.
+ */
+@Entity(name = "mail_outbox")
+@EntityListeners(AuditingEntityListener.class)
+@Getter @Setter @Accessors(chain = true)
+public class MailOutboxEntity {
+    /**
+     * The unique identifier for the entity.
+     */
+    @Id
+    @GeneratedValue(generator = "mail_outbox_id")
+    @GenericGenerator(name = "mail_outbox_id", type = PooledIdGenerator.class)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The universally unique identifier for the entity.
+     * <p>
+     * This is the actual id revealed publicly, the primary id is kept internally.
+     */
+    @Column(name = "uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
+
+    /**
+     * The email address of the sender
+     */
+    @Column(name = "sender")
+    private String sender;
+
+    /**
+     * The email address of the recipient
+     */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /**
+     * The subject of the email
+     */
+    @Column(name = "subject")
+    private String subject;
+
+    /**
+     * The HTML body of the email
+     */
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    /**
+     * The number of failed delivery attempts
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The date and time before which the email is not sent again after a failed attempt, null when it is due
+     */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    /**
+     * The date and time when the email was added to the outbox
+     */
+    @CreatedDate
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -24,14 +24,16 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -40,7 +42,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity(name = "medications")
 @EntityListeners(AuditingEntityListener.class)
@@ -48,12 +49,14 @@ import java.util.UUID;
 @Getter
 public class MedicationEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medications_id")
+    @GenericGenerator(name = "medications_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     @Column(name = "name")
     private String name;
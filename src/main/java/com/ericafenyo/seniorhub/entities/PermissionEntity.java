@@ -24,13 +24,16 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -41,6 +44,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity(name = "permissions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EntityListeners(AuditingEntityListener.class)
 @Data
 public class PermissionEntity {
@@ -49,14 +54,15 @@ public class PermissionEntity {
    * The unique identifier for the permission.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "permissions_id")
+  @GenericGenerator(name = "permissions_id", type = PooledIdGenerator.class)
   @Column(name = "id")
   private Long id;
 
   /**
    * The name of the permission
    */
-  @Column(name = "name")
+  @Column(name = "name", unique = true)
   private String name;
 
   /**
@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.entities;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Generates entity ids from the rows of the id_generators table, one row per entity table.
+ * <p>
+ * Each call to the table reserves a block of ids handed out from memory, so inserting many entities costs one
+ * id round trip per block, and Hibernate can group the inserts into JDBC batches, which identity columns prevent.
+ * The block size is read from the {@value #ALLOCATION_SIZE_SETTING} setting, at most 1000. Usage:
+ * <pre>
+ * &#64;GeneratedValue(generator = "users_id")
+ * &#64;GenericGenerator(name = "users_id", type = PooledIdGenerator.class)
+ * </pre>
+ */
+public class PooledIdGenerator extends TableGenerator {
+    public static final String ALLOCATION_SIZE_SETTING = "seniorhub.id.allocation_size";
+
+    private static final String TABLE_NAME = "id_generators";
+    private static final String SEGMENT_COLUMN = "name";
+    private static final String VALUE_COLUMN = "next_val";
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    /**
+     * The migrations start every generator 1000 ids past the existing rows, larger blocks could reuse ids.
+     */
+    private static final int MAX_ALLOCATION_SIZE = 1000;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        var allocationSize = serviceRegistry.getService(ConfigurationService.class)
+            .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1 || allocationSize > MAX_ALLOCATION_SIZE) {
+            throw new MappingException(
+                ALLOCATION_SIZE_SETTING + " must be between 1 and " + MAX_ALLOCATION_SIZE + ", was " + allocationSize
+            );
+        }
+
+        parameters.setProperty(TABLE_PARAM, TABLE_NAME);
+        parameters.setProperty(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        parameters.setProperty(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, "pooled");
+        // Without an explicit segment, the row is named after the table of the entity
+        parameters.putIfAbsent(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
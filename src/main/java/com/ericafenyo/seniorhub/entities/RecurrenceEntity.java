@@ -31,8 +31,8 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -42,7 +42,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Data @Accessors(chain = true)
 public class RecurrenceEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "recurrences_id")
+    @GenericGenerator(name = "recurrences_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -24,15 +24,20 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -42,9 +47,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter
 public class RoleEntity {
@@ -52,7 +58,8 @@ public class RoleEntity {
      * The unique identifier for the role.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "roles_id")
+    @GenericGenerator(name = "roles_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -61,8 +68,9 @@ public class RoleEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     /**
      * The name of the role
@@ -73,7 +81,7 @@ public class RoleEntity {
     /**
      * Human-readable name of the role
      */
-    @Column(name = "slug")
+    @Column(name = "slug", unique = true)
     private String slug;
 
     /**
@@ -100,6 +108,7 @@ public class RoleEntity {
      * The actions or operations that users with this role are allowed to perform.
      */
     @ManyToMany()
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "role_permission",
             joinColumns = @JoinColumn(name = "role_id")
@@ -28,19 +28,23 @@ import com.ericafenyo.seniorhub.model.Priority;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Task.Status;
 import com.ericafenyo.seniorhub.model.TaskStatus;
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import org.springframework.data.annotation.CreatedDate;
@@ -52,9 +56,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity(name = "tasks")
+@Table(indexes = @Index(name = "ix_tasks_team_id_due_date", columnList = "team_id, due_date"))
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @Accessors(chain = true)
@@ -63,7 +67,8 @@ public class TaskEntity {
      * The unique identifier for the task.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "tasks_id")
+    @GenericGenerator(name = "tasks_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -72,8 +77,9 @@ public class TaskEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true, nullable = false)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     /**
      * The title of the task.
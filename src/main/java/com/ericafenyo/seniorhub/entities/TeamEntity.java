@@ -24,16 +24,21 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -41,40 +46,51 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity(name = "teams")
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = TeamEntity.UK_NAME, columnNames = "name"),
+    indexes = @Index(name = "ix_teams_creator_id", columnList = "creator_id")
+)
 @EntityListeners(AuditingEntityListener.class)
 @Setter
 @Getter
 public class TeamEntity {
+    /**
+     * The unique constraint on the name, reported when a team is created with a name already taken.
+     */
+    public static final String UK_NAME = "uk_teams_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "teams_id")
+    @GenericGenerator(name = "teams_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "uuid", nullable = false, unique = true, length = 36)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, nullable = false, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
-    @Column(name = "name", nullable = false, unique = true, length = 50)
+    @Column(name = "name", nullable = false, length = 50)
     private String name;
 
     @Column(name = "description", nullable = false, length = 80)
     private String description;
 
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id", nullable = false)
     private UserEntity creator;
 
-    @ManyToMany()
-    @JoinTable(
-            name = "team_user",
-            joinColumns = @JoinColumn(name = "team_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
-    )
-    private List<UserEntity> members = new ArrayList<>();
+    /**
+     * The memberships of the team.
+     * <p>
+     * This is the read-only side of team_user, memberships are added through {@code TeamMemberRepository}
+     * so that adding a member never loads or rewrites the other rows.
+     */
+    @OneToMany(mappedBy = "team")
+    private Set<TeamMemberEntity> members = new HashSet<>();
 
     @CreatedDate
     @Column(name = "created_at", nullable = false)
@@ -24,15 +24,20 @@
 
 package com.ericafenyo.seniorhub.entities;
 
+import com.ericafenyo.seniorhub.util.Uuids;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -41,21 +46,30 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.UUID;
 
 /**
  * A database entity representing an individual or entity who interacts with the application.
  */
 @Entity(name = "users")
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = UserEntity.UK_EMAIL, columnNames = "email"),
+    indexes = @Index(name = "ix_users_created_at_uuid", columnList = "created_at, uuid")
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class UserEntity {
+    /**
+     * The unique constraint on the email, reported when a user is created with an email already taken.
+     */
+    public static final String UK_EMAIL = "uk_users_email";
+
     /**
      * The unique identifier for the user.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "users_id")
+    @GenericGenerator(name = "users_id", type = PooledIdGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -64,8 +78,9 @@ public class UserEntity {
      * <p>
      * This is the actual id revealed publicly, the primary id is kept internally.
      */
-    @Column(name = "uuid", unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    @Column(name = "uuid", unique = true, columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidConverter.class)
+    private String uuid = Uuids.timeOrdered();
 
     /**
      * The first name of the user.
@@ -88,7 +103,7 @@ public class UserEntity {
     /**
      * The email address of the user.
      */
-    @Column(name = "email", unique = true)
+    @Column(name = "email")
     private String email;
 
     /**
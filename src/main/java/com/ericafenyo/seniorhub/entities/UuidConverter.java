@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.entities;
+
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the string form of a UUID as 16 bytes.
+ * <p>
+ * A BINARY(16) column takes less than half the space of the 36 characters of the string form, in the table
+ * and in every index on it. Query parameters compared to a converted attribute go through the converter too,
+ * so lookups keep taking the string form.
+ */
+@Converter
+public class UuidConverter implements AttributeConverter<String, byte[]> {
+    /**
+     * Matches no stored UUID, used for lookups by strings that are not UUIDs.
+     */
+    private static final byte[] NO_MATCH = new byte[0];
+
+    @Override
+    public byte[] convertToDatabaseColumn(String uuid) {
+        if (uuid == null) {
+            return null;
+        }
+
+        try {
+            return Uuids.toBytes(uuid);
+        } catch (IllegalArgumentException exception) {
+            // Malformed ids come from request paths, they are not found rather than rejected
+            return NO_MATCH;
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null || bytes.length != 16 ? null : Uuids.fromBytes(bytes);
+    }
+}
@@ -24,9 +24,12 @@
 
 package com.ericafenyo.seniorhub.filters;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.model.Account;
+import com.ericafenyo.seniorhub.security.TokenRevocationRegistry;
 import com.ericafenyo.seniorhub.services.AccountService;
 import com.ericafenyo.seniorhub.services.JwtAuthenticationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,6 +44,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -50,6 +54,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtAuthenticationService jwtAuthenticationService;
   private final AccountService accountService;
+  private final TokenRevocationRegistry revocationRegistry;
+  private final EnvironmentVariables environment;
 
   @Override
   protected void doFilterInternal(
@@ -62,17 +68,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     if (isNotAuthenticated() && hasValidBearerAuthSchema(header)) {
       String token = header.substring(BEARER_AUTH_SCHEME.length());
 
-      String email = jwtAuthenticationService.extractEmail(token);
-
-      Account account = accountService.getAccount(email);
-      if (account == null) {
+      // Parse and verify the token once, then reuse the claims
+      Optional<Claims> claims = jwtAuthenticationService.verify(token);
+      if (claims.isEmpty()) {
         filterChain.doFilter(request, response);
         return;
       }
 
-      boolean isValid = jwtAuthenticationService.verify(token, account);
+      Account account = resolveAccount(claims.get());
 
-      if (isValid) {
+      if (account != null) {
         UsernamePasswordAuthenticationToken authenticationToken =
             new UsernamePasswordAuthenticationToken(
                 account, null, account.getAuthorities()
@@ -89,6 +94,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  /**
+   * Resolves the principal of a verified token.
+   * <p>
+   * In stateless mode the account is rebuilt from the claims and checked against the revocation registry,
+   * otherwise it is loaded from the database and the token must match its current credential version.
+   *
+   * @param claims The verified token claims.
+   * @return The account, or null if the token is no longer valid for it.
+   */
+  private Account resolveAccount(Claims claims) {
+    if (environment.isJwtStatelessPrincipal()) {
+      Account account = jwtAuthenticationService.toAccount(claims);
+      return revocationRegistry.isRevoked(account.getId(), account.getTokenVersion()) ? null : account;
+    }
+
+    Account account = accountService.getAccount(jwtAuthenticationService.extractEmail(claims));
+    boolean isCurrent = jwtAuthenticationService.isIssuedFor(claims, account)
+        && jwtAuthenticationService.extractVersion(claims) >= account.getTokenVersion();
+
+    return isCurrent ? account : null;
+  }
+
   private boolean isNotAuthenticated() {
     var authentication = SecurityContextHolder.getContext().getAuthentication();
     return authentication == null || !authentication.isAuthenticated();
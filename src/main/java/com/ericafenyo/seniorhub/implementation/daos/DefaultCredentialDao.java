@@ -26,6 +26,7 @@ package com.ericafenyo.seniorhub.implementation.daos;
 
 import com.ericafenyo.seniorhub.dao.CredentialDao;
 import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.model.Account;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
@@ -41,12 +42,26 @@ public class DefaultCredentialDao implements CredentialDao {
 
   @Override
   public Optional<CredentialEntity> findByUserId(Long userId) {
-    return manager.createQuery("SELECT e FROM credentials as e JOIN user u WHERE u.id=:userId", CredentialEntity.class)
+    // Keyed lookup on the unique user_id column
+    return manager.createQuery("SELECT e FROM credentials as e WHERE e.user.id=:userId", CredentialEntity.class)
         .setParameter("userId", userId)
         .getResultStream()
         .findFirst();
   }
 
+  @Override
+  public Optional<Account> findAccountByEmail(String email) {
+    // Only the columns needed by an account, so the eager user associations are never loaded
+    return manager.createQuery(
+            "SELECT new com.ericafenyo.seniorhub.model.Account(u.uuid, u.email, e.password, e.tokenVersion, e.authorities) " +
+                "FROM credentials as e JOIN e.user u WHERE u.email=:email",
+            Account.class
+        )
+        .setParameter("email", email)
+        .getResultStream()
+        .findFirst();
+  }
+
   @Override
   public CredentialEntity save(CredentialEntity entity) {
     manager.persist(entity);
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import com.ericafenyo.seniorhub.dao.DeletionDao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Deletes teams and users with bulk statements.
+ * <p>
+ * Each table referencing the deleted rows is cleared by a single statement on the internal ids, in foreign key
+ * order, instead of loading and removing the entities one by one. Entities already loaded in the persistence
+ * context are not updated by these statements.
+ */
+@Repository
+@Transactional
+public class DefaultDeletionDao implements DeletionDao {
+  @PersistenceContext
+  private EntityManager manager;
+
+  @Override
+  public int deleteTeams(Collection<String> teamIds) {
+    if (teamIds.isEmpty()) {
+      return 0;
+    }
+
+    var teams = manager.createQuery("SELECT e.id FROM teams as e WHERE e.uuid IN :ids", Long.class)
+        .setParameter("ids", teamIds)
+        .getResultList();
+    if (teams.isEmpty()) {
+      return 0;
+    }
+
+    // The recurrences are owned by the tasks and appointments, their ids are read before the owners are deleted
+    var recurrences = manager.createQuery(
+            "SELECT e.recurrence.id FROM tasks as e WHERE e.team.id IN :teams AND e.recurrence IS NOT NULL " +
+                "UNION SELECT e.recurrence.id FROM appointments as e WHERE e.team.id IN :teams AND e.recurrence IS NOT NULL",
+            Long.class
+        )
+        .setParameter("teams", teams)
+        .getResultList();
+
+    manager.createNativeQuery("DELETE FROM task_user WHERE task_id IN (SELECT id FROM tasks WHERE team_id IN (:teams))")
+        .setParameter("teams", teams)
+        .executeUpdate();
+    deleteByTeams("tasks", teams);
+    deleteByTeams("appointments", teams);
+    deleteByIds("recurrences", recurrences);
+    deleteByTeams("medications", teams);
+    deleteByTeams("reminders", teams);
+    deleteByTeams("notes", teams);
+    deleteByTeams("invitations", teams);
+    deleteByTeams("team_user", teams);
+
+    return deleteByIds("teams", teams);
+  }
+
+  @Override
+  public int deleteUsers(Collection<String> userIds) {
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+
+    var users = manager.createQuery("SELECT e.id FROM users as e WHERE e.uuid IN :ids", Long.class)
+        .setParameter("ids", userIds)
+        .getResultList();
+    if (users.isEmpty()) {
+      return 0;
+    }
+
+    // The addresses are referenced by the users, they are deleted last
+    var addresses = manager.createQuery(
+            "SELECT e.address.id FROM users as e WHERE e.id IN :users AND e.address IS NOT NULL", Long.class
+        )
+        .setParameter("users", users)
+        .getResultList();
+
+    manager.createQuery("DELETE FROM credentials as e WHERE e.user.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createQuery("DELETE FROM team_user as e WHERE e.user.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createNativeQuery("DELETE FROM task_user WHERE user_id IN (:users)")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createQuery("DELETE FROM caretaker_senior as e WHERE e.caretaker.id IN :users OR e.senior.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createQuery("DELETE FROM invitations as e WHERE e.inviter.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createQuery("UPDATE notes as e SET e.author = NULL WHERE e.author.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+    manager.createQuery("UPDATE appointments as e SET e.author = NULL WHERE e.author.id IN :users")
+        .setParameter("users", users)
+        .executeUpdate();
+
+    var deleted = deleteByIds("users", users);
+    deleteByIds("addresses", addresses);
+
+    return deleted;
+  }
+
+  private void deleteByTeams(String entity, List<Long> teams) {
+    manager.createQuery("DELETE FROM " + entity + " as e WHERE e.team.id IN :teams")
+        .setParameter("teams", teams)
+        .executeUpdate();
+  }
+
+  private int deleteByIds(String entity, List<Long> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    return manager.createQuery("DELETE FROM " + entity + " as e WHERE e.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+  }
+}
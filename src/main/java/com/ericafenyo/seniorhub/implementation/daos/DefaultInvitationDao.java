@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import com.ericafenyo.seniorhub.dao.InvitationDao;
+import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@Transactional
+public class DefaultInvitationDao implements InvitationDao {
+  @PersistenceContext
+  private EntityManager manager;
+
+  /**
+   * Persists the invitations, then flushes them once.
+   * <p>
+   * The ids of the invitations come from a pooled generator, so persisting them sends no statement, and the
+   * flush sends the inserts in JDBC batches of {@code hibernate.jdbc.batch_size}. The invitations stay managed
+   * after the flush: the team, inviter and roles they refer to belong to the calling transaction, so the
+   * persistence context is not cleared.
+   */
+  @Override
+  public void insertAll(List<InvitationEntity> invitations) {
+    invitations.forEach(manager::persist);
+    manager.flush();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import com.ericafenyo.seniorhub.dao.UserImportDao;
+import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@Transactional
+public class DefaultUserImportDao implements UserImportDao {
+  /**
+   * Matches {@code hibernate.jdbc.batch_size}, so each flush sends full batches.
+   */
+  private static final int BATCH_SIZE = 50;
+
+  @PersistenceContext
+  private EntityManager manager;
+
+  /**
+   * Persists the users, addresses and credentials in a single transaction, rolled back as a whole on failure.
+   * <p>
+   * Their ids come from pooled table generators, so Hibernate groups the inserts of each table into JDBC batches.
+   * The persistence context is flushed and cleared after each batch to keep it small.
+   */
+  @Override
+  public void insertAll(List<CredentialEntity> credentials) {
+    for (int index = 0; index < credentials.size(); index++) {
+      var credential = credentials.get(index);
+      // The address is persisted with the user
+      manager.persist(credential.getUser());
+      manager.persist(credential);
+
+      if ((index + 1) % BATCH_SIZE == 0) {
+        manager.flush();
+        manager.clear();
+      }
+    }
+
+    manager.flush();
+    manager.clear();
+  }
+}
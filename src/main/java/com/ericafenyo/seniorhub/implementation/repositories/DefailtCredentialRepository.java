@@ -26,7 +26,11 @@ package com.ericafenyo.seniorhub.implementation.repositories;
 
 import com.ericafenyo.seniorhub.dao.CredentialDao;
 import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.events.AccountChangedEvent;
+import com.ericafenyo.seniorhub.events.TokensRevokedEvent;
+import com.ericafenyo.seniorhub.model.Account;
 import com.ericafenyo.seniorhub.repository.CredentialRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -35,9 +39,11 @@ import java.util.Optional;
 public class DefailtCredentialRepository implements CredentialRepository {
 
   private final CredentialDao dao;
+  private final ApplicationEventPublisher eventPublisher;
 
-  public DefailtCredentialRepository(CredentialDao dao) {
+  public DefailtCredentialRepository(CredentialDao dao, ApplicationEventPublisher eventPublisher) {
     this.dao = dao;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -45,8 +51,34 @@ public class DefailtCredentialRepository implements CredentialRepository {
     return dao.findByUserId(userId);
   }
 
+  @Override
+  public Optional<Account> findAccountByEmail(String email) {
+    return dao.findAccountByEmail(email);
+  }
+
+  /**
+   * Saves the credential.
+   * <p>
+   * Saving an existing credential is a credential change: its token version is incremented, so every token
+   * issued before the change is rejected, whether the principal is loaded from the database or rebuilt
+   * from the token claims. The older tokens are revoked once the change has been committed.
+   */
   @Override
   public CredentialEntity save(CredentialEntity entity) {
-    return dao.save(entity);
+    var changed = entity.getId() != null;
+    if (changed) {
+      entity.setTokenVersion(entity.getTokenVersion() + 1);
+    }
+
+    var saved = dao.save(entity);
+
+    if (changed) {
+      eventPublisher.publishEvent(new TokensRevokedEvent(saved.getUser().getUuid(), saved.getTokenVersion()));
+    }
+
+    // Any credential change invalidates the cached account
+    eventPublisher.publishEvent(new AccountChangedEvent(saved.getUser().getEmail()));
+
+    return saved;
   }
 }
@@ -30,6 +30,7 @@ import com.ericafenyo.seniorhub.repository.EventRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class EventRepositoryImpl implements EventRepository {
@@ -53,4 +54,14 @@ public class EventRepositoryImpl implements EventRepository {
   public Iterable<EventEntity> findAll() {
     return eventDao.findAll();
   }
+
+  @Override
+  public int deleteById(String id) {
+    return eventDao.deleteByUuid(id);
+  }
+
+  @Override
+  public Stream<EventEntity> streamAll() {
+    return eventDao.streamAll();
+  }
 }
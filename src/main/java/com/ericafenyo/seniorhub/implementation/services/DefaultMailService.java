@@ -30,21 +30,11 @@ import com.ericafenyo.seniorhub.model.Mail;
 import com.ericafenyo.seniorhub.model.Mail.Context;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.services.MailService;
-import com.ericafenyo.seniorhub.util.Cache;
-import com.ericafenyo.seniorhub.spi.TextEncoder;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
-import jakarta.mail.MessagingException;
+import com.ericafenyo.seniorhub.services.VerificationCodeService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.security.crypto.keygen.KeyGenerators;
 import org.springframework.stereotype.Service;
-import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
-import java.io.IOException;
-import java.time.Duration;
+import java.util.Map;
 import java.util.Random;
 
 @Service
@@ -53,27 +43,22 @@ public class DefaultMailService implements MailService {
   public static final String TEMPLATE_INVITATION_EMAIL = "/mails/invitation.html";
   public static final String SUBJECT_INVITATION_EMAIL = "You've been invited to join Senior Hub!";
 
-  private final JavaMailSender javaMailSender;
-  private final TextEncoder textEncoder;
-  private final Configuration configuration;
+  private final OutboundMailQueue mailQueue;
+  private final MailOutbox outbox;
+  private final VerificationCodeService verificationCodeService;
+  private final MailTemplateRenderer templateRenderer;
   private final EnvironmentVariables environment;
 
 
+  /**
+   * Queues the mail in memory for delivery by the queue workers, the caller does not wait for the mail server.
+   * <p>
+   * Delivery is best-effort: the mail is not stored until it is delivered or dead-lettered, so a crash loses it.
+   * This suits verification codes, which the user can request again, invitations go through the outbox.
+   */
   @Override
   public void send(Mail options) {
-    try {
-      var message = javaMailSender.createMimeMessage();
-      var content = new MimeMessageHelper(message, true, "UTF-8");
-
-      content.setFrom(options.getSender());
-      content.setTo(options.getRecipient());
-      content.setSubject(options.getSubject());
-      content.setText(options.getBody(), true);
-
-      javaMailSender.send(content.getMimeMessage());
-    } catch (MessagingException e) {
-      throw new RuntimeException(e);
-    }
+    mailQueue.enqueue(options);
   }
 
   @Override
@@ -81,16 +66,8 @@ public class DefaultMailService implements MailService {
     // Generate a verification code
     var code = generateVerificationCode();
 
-    // Hash the code so that it is not stored on our server
-    var encodedText = textEncoder.encode(String.valueOf(code));
-
-    // Cache the encoded verification code
-    var storageKey = KeyGenerators.string().generateKey();
-    var cache = Cache.builder()
-        .duration(Duration.ofMinutes(5))
-        .build();
-
-    cache.put(storageKey, encodedText);
+    // Store the code in the shared verification code store
+    var storageKey = verificationCodeService.issue(email, String.valueOf(code));
 
     var verificationMail = Mail.builder()
         .sender("no-reply@example.com")
@@ -108,33 +85,42 @@ public class DefaultMailService implements MailService {
 
   @Override
   public Report sendInvitation(String email, Context context) {
+    // Stored with the caller's transaction, the relay sends it once committed
+    outbox.add(createInvitationMail(email, context));
+
+    return gererateReport();
+  }
+
+  @Override
+  public Report sendInvitations(Map<String, Context> invitations) {
+    var mails = invitations.entrySet().stream()
+        .map(invitation -> createInvitationMail(invitation.getKey(), invitation.getValue()))
+        .toList();
+
+    outbox.addAll(mails);
+
+    return gererateReport();
+  }
+
+  private Mail createInvitationMail(String email, Context context) {
     // Extract the email template
     var html = extractHTML(TEMPLATE_INVITATION_EMAIL, context);
 
     // Crate an email request
-    var mail = Mail.builder()
+    return Mail.builder()
         .recipient(email)
         .sender(environment.getMailSender())
         .subject(SUBJECT_INVITATION_EMAIL)
         .body(html)
         .build();
-
-    send(mail);
-
-    return gererateReport();
   }
 
   private static Report gererateReport() {
-    return new Report("Email sent successfully");
+    return new Report("Email has been queued for delivery");
   }
 
   private String extractHTML(String path, Context context) {
-    try {
-      Template template = configuration.getTemplate(path);
-      return FreeMarkerTemplateUtils.processTemplateIntoString(template, context);
-    } catch (IOException | TemplateException e) {
-      throw new RuntimeException(e);
-    }
+    return templateRenderer.render(path, context);
   }
 
   private int generateVerificationCode() {
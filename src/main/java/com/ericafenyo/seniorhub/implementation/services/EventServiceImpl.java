@@ -28,26 +28,32 @@ import com.ericafenyo.seniorhub.dto.CreateEventRequest;
 import com.ericafenyo.seniorhub.dto.UpdateEventRequest;
 import com.ericafenyo.seniorhub.entities.EventEntity;
 import com.ericafenyo.seniorhub.exceptions.event.EventNotFoundException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
 import com.ericafenyo.seniorhub.mapper.EventMapper;
 import com.ericafenyo.seniorhub.model.Event;
 import com.ericafenyo.seniorhub.repository.EventRepository;
 import com.ericafenyo.seniorhub.services.EventService;
+import com.ericafenyo.seniorhub.util.Uuids;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class EventServiceImpl implements EventService {
 
   private final EventRepository repository;
   private final EventMapper mapper;
+  private final NdjsonWriter ndjsonWriter;
 
-  public EventServiceImpl(EventRepository repository, EventMapper mapper) {
+  public EventServiceImpl(EventRepository repository, EventMapper mapper, NdjsonWriter ndjsonWriter) {
     this.repository = repository;
     this.mapper = mapper;
+    this.ndjsonWriter = ndjsonWriter;
   }
 
   @Override
@@ -62,6 +68,14 @@ public class EventServiceImpl implements EventService {
     return events;
   }
 
+  @Override
+  @Transactional
+  public void exportEvents(OutputStream output) throws IOException {
+    try (var events = repository.streamAll()) {
+      ndjsonWriter.write(events, mapper, output);
+    }
+  }
+
   @Override
   public Event getEventById(String id) throws EventNotFoundException {
     Optional<EventEntity> event = repository.findById(id);
@@ -76,7 +90,7 @@ public class EventServiceImpl implements EventService {
   @Override
   public Event createEvent(CreateEventRequest request) {
     EventEntity entity = new EventEntity();
-    entity.setUuid(UUID.randomUUID().toString());
+    entity.setUuid(Uuids.timeOrdered());
     entity.setName(request.getName());
     entity.setDescription(request.getDescription());
     entity.setStartDate(request.getStartDate());
@@ -93,7 +107,8 @@ public class EventServiceImpl implements EventService {
   }
 
   @Override
+  @Transactional
   public void deleteEvent(String id) {
-
+    repository.deleteById(id);
   }
 }
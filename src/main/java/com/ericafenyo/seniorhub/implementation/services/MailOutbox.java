@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.MailDeadLetterEntity;
+import com.ericafenyo.seniorhub.entities.MailOutboxEntity;
+import com.ericafenyo.seniorhub.model.Mail;
+import com.ericafenyo.seniorhub.repository.MailDeadLetterRepository;
+import com.ericafenyo.seniorhub.repository.MailOutboxRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A transactional outbox for emails.
+ * <p>
+ * Emails are stored in the transaction of the caller, so they are only sent if that transaction commits,
+ * and the caller never waits for the mail server. A scheduled relay sends them in batches, and deletes a row
+ * only once its email has been delivered or stored as a dead letter, so no email is lost if the application
+ * stops in between. A crash after delivery but before the commit sends the email again on the next run.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailOutbox {
+  private static final Logger logger = LoggerFactory.getLogger(MailOutbox.class);
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final MailOutboxRepository repository;
+  private final MailDeadLetterRepository deadLetterRepository;
+  private final SmtpMailSender sender;
+  private final EnvironmentVariables environment;
+
+  /**
+   * Stores the mail in the outbox, as part of the current transaction if there is one.
+   *
+   * @param mail The mail to send once the transaction commits.
+   */
+  @Transactional
+  public void add(Mail mail) {
+    repository.save(toEntity(mail));
+  }
+
+  /**
+   * Stores several mails in the outbox at once, as part of the current transaction if there is one.
+   *
+   * @param mails The mails to send once the transaction commits.
+   */
+  @Transactional
+  public void addAll(List<Mail> mails) {
+    repository.saveAll(mails.stream().map(MailOutbox::toEntity).toList());
+  }
+
+  /**
+   * Sends a batch of stored mails.
+   * <p>
+   * The rows stay locked while their mails are sent, so other relays skip them. Delivered mails are deleted,
+   * failed ones are scheduled for a retry with an exponential backoff, or moved to the dead letters after
+   * the last attempt.
+   */
+  @Transactional
+  @Scheduled(fixedDelayString = "${seniorhub.env.mail-outbox-poll-millis}")
+  public void relay() {
+    var now = Instant.now();
+    var batch = repository.lockBatch(now, PageRequest.of(0, environment.getMailOutboxBatchSize()));
+    List<Long> done = new ArrayList<>();
+
+    var size = environment.getMailBatchSize();
+    for (int start = 0; start < batch.size(); start += size) {
+      var entries = batch.subList(start, Math.min(start + size, batch.size()));
+      var mails = entries.stream().map(MailOutbox::toMail).toList();
+
+      // One SMTP session per chunk, failures are reported per mail
+      var failures = sender.send(mails);
+
+      for (int index = 0; index < entries.size(); index++) {
+        var entry = entries.get(index);
+        var failure = failures.get(mails.get(index));
+
+        if (failure == null) {
+          done.add(entry.getId());
+        } else if (retryOrDeadLetter(entry, failure, now)) {
+          done.add(entry.getId());
+        }
+      }
+    }
+
+    if (!done.isEmpty()) {
+      repository.deleteAllByIds(done);
+    }
+  }
+
+  /**
+   * Records a failed attempt on the entry.
+   *
+   * @return true if the entry was moved to the dead letters and can be deleted, false if it waits for a retry.
+   */
+  private boolean retryOrDeadLetter(MailOutboxEntity entry, Exception failure, Instant now) {
+    var attempts = entry.getAttempts() + 1;
+    var error = failure.getMessage();
+
+    if (attempts >= environment.getMailMaxAttempts()) {
+      logger.error("Delivery to {} failed after {} attempt(s): {}", entry.getRecipient(), attempts, error);
+      deadLetterRepository.save(new MailDeadLetterEntity()
+          .setSender(entry.getSender())
+          .setRecipient(entry.getRecipient())
+          .setSubject(entry.getSubject())
+          .setBody(entry.getBody())
+          .setAttempts(attempts)
+          .setError(error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH))));
+      return true;
+    }
+
+    var delay = OutboundMailQueue.backoff(environment.getMailRetryDelayMillis(), attempts);
+    logger.warn("Delivery to {} failed (attempt {}), retrying in {}", entry.getRecipient(), attempts, delay);
+
+    // The entry is managed, the changes are written when the relay transaction commits
+    entry.setAttempts(attempts);
+    entry.setNextAttemptAt(now.plus(delay));
+    return false;
+  }
+
+  private static Mail toMail(MailOutboxEntity entry) {
+    return Mail.builder()
+        .sender(entry.getSender())
+        .recipient(entry.getRecipient())
+        .subject(entry.getSubject())
+        .body(entry.getBody())
+        .build();
+  }
+
+  private static MailOutboxEntity toEntity(Mail mail) {
+    return new MailOutboxEntity()
+        .setSender(mail.getSender())
+        .setRecipient(mail.getRecipient())
+        .setSubject(mail.getSubject())
+        .setBody(mail.getBody());
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.services;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+/**
+ * Renders the mail templates found under {@code templates/mails}.
+ * <p>
+ * Templates are parsed into the FreeMarker template cache at startup, so the static parts of a template are kept
+ * as ready-to-write text blocks and only the interpolations are evaluated per mail. The cache never checks the
+ * templates for updates (see {@code spring.freemarker.settings.template_update_delay}).
+ */
+@Component
+@RequiredArgsConstructor
+public class MailTemplateRenderer {
+  private static final String TEMPLATE_ROOT = "templates/";
+  private static final String TEMPLATE_PATTERN = "classpath*:" + TEMPLATE_ROOT + "mails/**/*.html";
+  // Fits the rendered mail templates without growing
+  private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+  private final Configuration configuration;
+
+  /**
+   * Parses every mail template so that the first mails sent do not pay for it.
+   */
+  @PostConstruct
+  void precompile() throws IOException {
+    var resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_PATTERN);
+    for (var resource : resources) {
+      var path = resource.getURL().getPath();
+      configuration.getTemplate(path.substring(path.lastIndexOf(TEMPLATE_ROOT) + TEMPLATE_ROOT.length()));
+    }
+  }
+
+  /**
+   * Renders a template with the given data model.
+   *
+   * @param path The path of the template, relative to the templates directory.
+   * @param model The values referenced by the template.
+   * @return The rendered text.
+   * @throws MailPreparationException If the template cannot be loaded or rendered.
+   */
+  public String render(String path, Map<String, Object> model) {
+    var writer = new StringWriter(INITIAL_BUFFER_SIZE);
+    try {
+      configuration.getTemplate(normalize(path)).process(model, writer);
+      return writer.toString();
+    } catch (IOException | TemplateException e) {
+      throw new MailPreparationException("Failed to render the template " + path, e);
+    }
+  }
+
+  private static String normalize(String path) {
+    return path.startsWith("/") ? path.substring(1) : path;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.MailDeadLetterEntity;
+import com.ericafenyo.seniorhub.model.Mail;
+import com.ericafenyo.seniorhub.repository.MailDeadLetterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue of outbound emails, delivered by dedicated worker threads.
+ * <p>
+ * Callers return as soon as the mail is queued. Workers take up to {@code mail-batch-size} mails at a time
+ * and send them over a single pooled SMTP session. Failed deliveries are retried with an exponential backoff,
+ * and mails that still fail after the last attempt are stored as dead letters.
+ * <p>
+ * The queue lives in memory: mails handed to it are best-effort. Those still queued or waiting for a retry
+ * when the application stops are stored as dead letters, but a crash loses them. Mails that must survive
+ * a crash go through the {@link MailOutbox} instead.
+ */
+@Component
+public class OutboundMailQueue {
+  private static final Logger logger = LoggerFactory.getLogger(OutboundMailQueue.class);
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final String SHUTDOWN_ERROR = "Application shut down before delivery";
+
+  private final SmtpMailSender sender;
+  private final MailDeadLetterRepository deadLetterRepository;
+  private final EnvironmentVariables environment;
+
+  private final BlockingQueue<Delivery> queue;
+  private final ExecutorService workers;
+  private final ScheduledExecutorService retries;
+
+  /**
+   * The deliveries waiting for their backoff to elapse, so that they can be dead-lettered on shutdown.
+   */
+  private final Map<Long, Delivery> scheduledRetries = new ConcurrentHashMap<>();
+  private final AtomicLong retrySequence = new AtomicLong();
+
+  public OutboundMailQueue(
+      SmtpMailSender sender,
+      MailDeadLetterRepository deadLetterRepository,
+      EnvironmentVariables environment
+  ) {
+    this.sender = sender;
+    this.deadLetterRepository = deadLetterRepository;
+    this.environment = environment;
+    this.queue = new ArrayBlockingQueue<>(environment.getMailQueueCapacity());
+    this.workers = Executors.newFixedThreadPool(environment.getMailQueueWorkers(), new CustomizableThreadFactory("mail-worker-"));
+    this.retries = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+  }
+
+  @PostConstruct
+  void start() {
+    for (int i = 0; i < environment.getMailQueueWorkers(); i++) {
+      workers.execute(this::work);
+    }
+  }
+
+  /**
+   * Queues the mail for delivery without waiting for the mail server.
+   *
+   * @param mail The mail to deliver.
+   * @throws IllegalStateException If the queue is full.
+   */
+  public void enqueue(Mail mail) {
+    if (!offer(mail)) {
+      throw new IllegalStateException("The outbound mail queue is full");
+    }
+  }
+
+  /**
+   * Queues the mail for delivery if there is room left.
+   *
+   * @param mail The mail to deliver.
+   * @return true if the mail was queued, false if the queue is full.
+   */
+  public boolean offer(Mail mail) {
+    return queue.offer(new Delivery(mail, 1));
+  }
+
+  /**
+   * Returns the number of mails waiting for delivery.
+   */
+  public int size() {
+    return queue.size();
+  }
+
+  private void work() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        List<Delivery> batch = new ArrayList<>();
+        batch.add(queue.take());
+        queue.drainTo(batch, environment.getMailBatchSize() - 1);
+        deliver(batch);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Sends a batch of mails over one SMTP session, retrying the ones that failed individually.
+   */
+  private void deliver(List<Delivery> batch) {
+    var mails = batch.stream().map(Delivery::mail).toList();
+
+    Map<Mail, Exception> failures;
+    try {
+      failures = sender.send(mails);
+    } catch (RuntimeException exception) {
+      batch.forEach(delivery -> retryOrDeadLetter(delivery, exception));
+      return;
+    }
+
+    batch.stream()
+        .filter(delivery -> failures.containsKey(delivery.mail()))
+        .forEach(delivery -> retryOrDeadLetter(delivery, failures.get(delivery.mail())));
+  }
+
+  private void retryOrDeadLetter(Delivery delivery, Exception exception) {
+    if (delivery.attempt() >= environment.getMailMaxAttempts()) {
+      deadLetter(delivery, exception.getMessage());
+      return;
+    }
+
+    var delay = backoff(delivery.attempt());
+    logger.warn("Delivery to {} failed (attempt {}), retrying in {}", delivery.mail().getRecipient(), delivery.attempt(), delay);
+
+    var retry = new Delivery(delivery.mail(), delivery.attempt() + 1);
+    var key = retrySequence.incrementAndGet();
+    scheduledRetries.put(key, retry);
+
+    try {
+      retries.schedule(() -> {
+        // Whoever removes the entry first, this task or the shutdown, owns the delivery
+        if (scheduledRetries.remove(key) != null && !queue.offer(retry)) {
+          deadLetter(retry, "The outbound mail queue is full");
+        }
+      }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException exception) {
+      // The queue is shutting down
+      if (scheduledRetries.remove(key) != null) {
+        deadLetter(retry, SHUTDOWN_ERROR);
+      }
+    }
+  }
+
+  /**
+   * Computes the delay before the next attempt, doubling after each failed attempt.
+   */
+  private Duration backoff(int attempt) {
+    return backoff(environment.getMailRetryDelayMillis(), attempt);
+  }
+
+  /**
+   * Computes the delay before the next attempt from the delay before the first retry.
+   */
+  static Duration backoff(long initialDelayMillis, int attempt) {
+    return Duration.ofMillis(initialDelayMillis).multipliedBy(1L << Math.min(attempt - 1, 16));
+  }
+
+  private void deadLetter(Delivery delivery, String error) {
+    var mail = delivery.mail();
+    logger.error("Delivery to {} failed after {} attempt(s): {}", mail.getRecipient(), delivery.attempt(), error);
+
+    try {
+      deadLetterRepository.save(new MailDeadLetterEntity()
+          .setSender(mail.getSender())
+          .setRecipient(mail.getRecipient())
+          .setSubject(mail.getSubject())
+          .setBody(mail.getBody())
+          .setAttempts(delivery.attempt())
+          .setError(error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH))));
+    } catch (RuntimeException exception) {
+      logger.error("Failed to store the dead letter for {}", mail.getRecipient(), exception);
+    }
+  }
+
+  /**
+   * Stops the workers and keeps the mails that were not delivered yet as dead letters,
+   * both the queued ones and the ones waiting for a retry.
+   */
+  @PreDestroy
+  void stop() throws InterruptedException {
+    retries.shutdownNow();
+    workers.shutdownNow();
+    workers.awaitTermination(10, TimeUnit.SECONDS);
+
+    List<Delivery> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    for (var key : scheduledRetries.keySet()) {
+      var retry = scheduledRetries.remove(key);
+      if (retry != null) {
+        pending.add(retry);
+      }
+    }
+
+    pending.forEach(delivery -> deadLetter(delivery, SHUTDOWN_ERROR));
+  }
+
+  /**
+   * A mail together with the number of the delivery attempt it is queued for.
+   */
+  private record Delivery(Mail mail, int attempt) { }
+}
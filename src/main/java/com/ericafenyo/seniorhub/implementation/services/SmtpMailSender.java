@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.model.Mail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Talks SMTP on behalf of the outbound mail queue.
+ */
+@Component
+@RequiredArgsConstructor
+public class SmtpMailSender {
+  private final JavaMailSender javaMailSender;
+  private final SmtpTransportPool transportPool;
+
+  /**
+   * Sends the mails over a single pooled SMTP session.
+   *
+   * @param mails The mails to send.
+   * @return The mails that could not be delivered, with the cause of the failure.
+   */
+  public Map<Mail, Exception> send(List<Mail> mails) {
+    Map<Mail, Exception> failures = new HashMap<>();
+
+    Transport transport;
+    try {
+      transport = transportPool.borrow();
+    } catch (MessagingException exception) {
+      mails.forEach(mail -> failures.put(mail, exception));
+      return failures;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      mails.forEach(mail -> failures.put(mail, exception));
+      return failures;
+    }
+
+    MessagingException connectionFailure = null;
+    for (var mail : mails) {
+      // Once the session is broken, the rest of the batch is left for a retry
+      if (connectionFailure != null) {
+        failures.put(mail, connectionFailure);
+        continue;
+      }
+
+      try {
+        var message = createMessage(mail);
+        transport.sendMessage(message, message.getAllRecipients());
+      } catch (SendFailedException exception) {
+        // The server rejected the recipients of this mail, the session is still usable
+        failures.put(mail, exception);
+      } catch (MessagingException exception) {
+        failures.put(mail, exception);
+        connectionFailure = exception;
+      }
+    }
+
+    if (connectionFailure == null) {
+      transportPool.release(transport);
+    } else {
+      transportPool.invalidate(transport);
+    }
+
+    return failures;
+  }
+
+  private MimeMessage createMessage(Mail options) throws MessagingException {
+    var message = javaMailSender.createMimeMessage();
+    var content = new MimeMessageHelper(message, true, "UTF-8");
+
+    content.setFrom(options.getSender());
+    content.setTo(options.getRecipient());
+    content.setSubject(options.getSubject());
+    content.setText(options.getBody(), true);
+
+    message.setSentDate(new Date());
+    message.saveChanges();
+
+    return message;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of connected SMTP transports.
+ * <p>
+ * Keeping sessions open avoids paying the connect, EHLO and AUTH round trips for every email.
+ * Sessions left unused for longer than the idle timeout are closed.
+ */
+@Component
+public class SmtpTransportPool {
+  private static final String DEFAULT_PROTOCOL = "smtp";
+
+  private final JavaMailSenderImpl mailSender;
+  private final Duration idleTimeout;
+  private final Semaphore permits;
+  private final Deque<IdleTransport> idle = new ArrayDeque<>();
+
+  public SmtpTransportPool(JavaMailSenderImpl mailSender, EnvironmentVariables environment) {
+    this.mailSender = mailSender;
+    this.idleTimeout = Duration.ofSeconds(environment.getMailPoolIdleTimeoutSeconds());
+    this.permits = new Semaphore(environment.getMailPoolSize());
+  }
+
+  /**
+   * Takes a connected transport from the pool, opening a new session if none is available.
+   * Blocks while all the transports of the pool are in use.
+   *
+   * @return A connected transport, to be given back with {@link #release} or {@link #invalidate}.
+   */
+  public Transport borrow() throws MessagingException, InterruptedException {
+    permits.acquire();
+    try {
+      IdleTransport entry;
+      while ((entry = pollIdle()) != null) {
+        if (!entry.hasExpired(idleTimeout) && entry.transport().isConnected()) {
+          return entry.transport();
+        }
+        close(entry.transport());
+      }
+      return connect();
+    } catch (MessagingException | RuntimeException exception) {
+      permits.release();
+      throw exception;
+    }
+  }
+
+  /**
+   * Gives a healthy transport back to the pool.
+   */
+  public void release(Transport transport) {
+    synchronized (idle) {
+      idle.offerFirst(new IdleTransport(transport, Instant.now()));
+    }
+    permits.release();
+  }
+
+  /**
+   * Closes a transport that failed, instead of giving it back to the pool.
+   */
+  public void invalidate(Transport transport) {
+    close(transport);
+    permits.release();
+  }
+
+  /**
+   * Closes the sessions that have been idle for longer than the idle timeout.
+   */
+  @Scheduled(fixedDelayString = "${seniorhub.env.mail-pool-idle-timeout-seconds}", timeUnit = TimeUnit.SECONDS)
+  public void evictIdle() {
+    synchronized (idle) {
+      idle.removeIf(entry -> {
+        if (entry.hasExpired(idleTimeout)) {
+          close(entry.transport());
+          return true;
+        }
+        return false;
+      });
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    synchronized (idle) {
+      idle.forEach(entry -> close(entry.transport()));
+      idle.clear();
+    }
+  }
+
+  private IdleTransport pollIdle() {
+    synchronized (idle) {
+      return idle.pollFirst();
+    }
+  }
+
+  private Transport connect() throws MessagingException {
+    var protocol = mailSender.getProtocol() == null ? DEFAULT_PROTOCOL : mailSender.getProtocol();
+    var transport = mailSender.getSession().getTransport(protocol);
+    transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+    return transport;
+  }
+
+  private static void close(Transport transport) {
+    try {
+      transport.close();
+    } catch (MessagingException ignored) {
+      // The session is discarded either way
+    }
+  }
+
+  /**
+   * A pooled transport together with the time it was last given back.
+   */
+  private record IdleTransport(Transport transport, Instant releasedAt) {
+    boolean hasExpired(Duration timeout) {
+      return releasedAt.plus(timeout).isBefore(Instant.now());
+    }
+  }
+}
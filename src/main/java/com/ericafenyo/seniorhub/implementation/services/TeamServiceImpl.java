@@ -24,29 +24,52 @@
 
 package com.ericafenyo.seniorhub.implementation.services;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Constants;
 import com.ericafenyo.seniorhub.Messages;
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
+import com.ericafenyo.seniorhub.dao.DeletionDao;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.entities.TaskEntity;
 import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
 import com.ericafenyo.seniorhub.exceptions.ConflictException;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
+import com.ericafenyo.seniorhub.exceptions.role.InvalidRoleException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
 import com.ericafenyo.seniorhub.mapper.TaskMapper;
 import com.ericafenyo.seniorhub.mapper.TeamMapper;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport;
+import com.ericafenyo.seniorhub.model.PagedList;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 import com.ericafenyo.seniorhub.repository.TaskRepository;
+import com.ericafenyo.seniorhub.repository.TeamMemberRepository;
 import com.ericafenyo.seniorhub.repository.TeamRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.security.RoleCatalog;
+import com.ericafenyo.seniorhub.security.TeamAuthorization;
 import com.ericafenyo.seniorhub.services.InvitationService;
 import com.ericafenyo.seniorhub.services.TeamService;
+import com.ericafenyo.seniorhub.util.Constraints;
+import com.ericafenyo.seniorhub.util.EntitySpecifications;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -57,22 +80,23 @@ public class TeamServiceImpl implements TeamService {
 
     private final TaskRepository taskRepository;
     private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
     private final UserRepository userRepository;
+    private final DeletionDao deletionDao;
+    private final RoleCatalog roleCatalog;
 
     private final InvitationService invitationService;
     private final Messages messages;
+    private final NdjsonWriter ndjsonWriter;
+    private final EnvironmentVariables environment;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(rollbackOn = HttpException.class)
     public Team createTeam(
         CreateTeamRequest request,
         String creatorId
     ) throws HttpException {
-        var exists = teamRepository.existsByName(request.getName());
-
-        if (exists) {
-            throw new ConflictException("Team with name " + request.getName() + " already exists", "not-found");
-        }
-
         var creator = userRepository.findById(creatorId)
             .orElseThrow(() -> new NotFoundException("Creator with id " + creatorId + " not found", "creator-not-found"));
 
@@ -80,14 +104,73 @@ public class TeamServiceImpl implements TeamService {
         team.setName(request.getName());
         team.setDescription(request.getDescription());
         team.setCreator(creator);
-        return mapper.apply(teamRepository.save(team));
+
+        // The unique constraint on the name settles conflicts, including concurrent creations, without a lookup
+        TeamEntity savedTeam;
+        try {
+            savedTeam = teamRepository.saveAndFlush(team);
+        } catch (DataIntegrityViolationException exception) {
+            if (Constraints.isViolated(exception, TeamEntity.UK_NAME)) {
+                throw new ConflictException("Team with name " + request.getName() + " already exists", "not-found", exception);
+            }
+            throw exception;
+        }
+
+        // The creator administers the team, and finds it among their teams like any other member
+        var administrator = roleCatalog.findBySlug(Constants.ROLE_ADMINISTRATOR)
+            .orElseThrow(() -> new InvalidRoleException());
+        teamMemberRepository.addMember(savedTeam.getId(), creator.getId(), administrator.id());
+        eventPublisher.publishEvent(new TeamMembershipChangedEvent(savedTeam.getUuid(), creator.getUuid()));
+
+        return mapper.apply(savedTeam);
+    }
+
+    @Override
+    public PagedList<Team> getTeams(String userId, String creatorId, String memberId, String namePrefix, int page, Integer size) {
+        var pageSize = size == null
+            ? environment.getPageSizeDefault()
+            : Math.max(1, Math.min(size, environment.getPageSizeMax()));
+        var pageable = PageRequest.of(Math.max(page, 0), pageSize, Sort.by("name", "id"));
+
+        var roleIds = roleCatalog.findGranting(TeamAuthorization.PERMISSION_READ);
+        if (roleIds.isEmpty()) {
+            return new PagedList<>(List.of(), pageable.getPageNumber(), pageSize, 0, 0);
+        }
+
+        // Only the teams the user may read are listed, the filters narrow them down
+        Specification<TeamEntity> filter = Specification.where(EntitySpecifications.teamWithMemberRoles(userId, roleIds));
+        if (creatorId != null) {
+            filter = filter.and(EntitySpecifications.teamCreatedBy(creatorId));
+        }
+        if (memberId != null) {
+            filter = filter.and(EntitySpecifications.teamWithMember(memberId));
+        }
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            filter = filter.and(EntitySpecifications.teamNameStartsWith(namePrefix));
+        }
+
+        var teams = teamRepository.findAll(filter, pageable);
+
+        return new PagedList<>(
+            teams.map(mapper).getContent(),
+            teams.getNumber(),
+            teams.getSize(),
+            teams.getTotalElements(),
+            teams.getTotalPages()
+        );
     }
 
     @Override
-    public List<Team> getTeams() {
-        return teamRepository.findAll().stream()
-            .map(mapper)
-            .toList();
+    @Transactional
+    public void exportTeams(String userId, OutputStream output) throws IOException {
+        var roleIds = roleCatalog.findGranting(TeamAuthorization.PERMISSION_READ);
+        if (roleIds.isEmpty()) {
+            return;
+        }
+
+        try (var teams = teamRepository.streamByMemberRoles(userId, roleIds)) {
+            ndjsonWriter.write(teams, mapper, output);
+        }
     }
 
     @Override
@@ -110,16 +193,18 @@ public class TeamServiceImpl implements TeamService {
     }
 
     @Override
+    @Transactional
     public void deleteTeam(String id) {
+        if (deletionDao.deleteTeams(List.of(id)) > 0) {
+            // Drops the cached roles of every member of the team
+            eventPublisher.publishEvent(new TeamMembershipChangedEvent(id, null));
+        }
     }
 
 
     @Override
-    public List<Team> getUserTeams(Long id) throws HttpException {
-        return teamRepository.findAllByCreatorId(id)
-            .stream()
-            .map(mapper)
-            .toList();
+    public List<TeamSummary> getUserTeams(Long id) throws HttpException {
+        return teamMemberRepository.findTeamSummaries(id);
     }
 
     @Override
@@ -127,6 +212,11 @@ public class TeamServiceImpl implements TeamService {
         return invitationService.invite(teamId, inviterId, role, email);
     }
 
+    @Override
+    public InvitationBatchReport inviteAll(String teamId, String inviterId, List<InvitationRequest> invitations) throws HttpException {
+        return invitationService.inviteAll(teamId, inviterId, invitations);
+    }
+
     @Override
     public Invitation validateInvitation(String id) {
         return null;
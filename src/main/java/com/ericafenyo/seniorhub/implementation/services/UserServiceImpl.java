@@ -24,82 +24,113 @@
 
 package com.ericafenyo.seniorhub.implementation.services;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.dao.DeletionDao;
+import com.ericafenyo.seniorhub.dao.UserImportDao;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.ericafenyo.seniorhub.dto.UpdatePasswordRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
 import com.ericafenyo.seniorhub.entities.AddressEntity;
-import com.ericafenyo.seniorhub.entities.CityEntity;
-import com.ericafenyo.seniorhub.entities.CountryEntity;
 import com.ericafenyo.seniorhub.entities.CredentialEntity;
 import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.events.AccountChangedEvent;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
+import com.ericafenyo.seniorhub.events.TokensRevokedEvent;
+import com.ericafenyo.seniorhub.exceptions.BadRequestException;
 import com.ericafenyo.seniorhub.exceptions.ConflictException;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
+import com.ericafenyo.seniorhub.exceptions.account.InvalidCredentialsException;
 import com.ericafenyo.seniorhub.exceptions.user.UserNotFoundException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
+import com.ericafenyo.seniorhub.implementation.utils.PasswordHashingPool;
+import com.ericafenyo.seniorhub.implementation.utils.UserCsvReader;
 import com.ericafenyo.seniorhub.mapper.UserMapper;
+import com.ericafenyo.seniorhub.model.CursorPage;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.model.UserImportReport;
+import com.ericafenyo.seniorhub.model.UserImportReport.Result;
 import com.ericafenyo.seniorhub.repository.CredentialRepository;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.services.ReferenceDataResolver;
 import com.ericafenyo.seniorhub.services.TeamService;
 import com.ericafenyo.seniorhub.services.UserService;
+import com.ericafenyo.seniorhub.util.Constraints;
+import com.ericafenyo.seniorhub.util.Cursors;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    /**
+     * Number of imported users inserted per transaction.
+     */
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     private final PasswordEncoder passwordEncoder;
     private final UserMapper mapper;
     private final Messages messages;
+    private final EnvironmentVariables environment;
 
     private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
     private final CredentialRepository credentialRepository;
+    private final ReferenceDataResolver referenceDataResolver;
+    private final UserImportDao userImportDao;
+    private final DeletionDao deletionDao;
 
     private final TeamService teamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonWriter ndjsonWriter;
+    private final UserCsvReader userCsvReader;
+    private final PasswordHashingPool passwordHashingPool;
+    private final Validator validator;
 
     @Override
-    @Transactional
+    @Transactional(rollbackOn = HttpException.class)
     public User createUser(CreateUserRequest request) throws HttpException {
-        // Throw error if the user already exists
-        boolean isPresent = userRepository.existsByEmail(request.getEmail());
-        if (isPresent) {
-            throw new ConflictException(
-                messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS, "User"),
-                messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS_CODE, "user")
-            );
+        // Create and save a new user entity, the unique constraint on the email rejects users that already exist
+        UserEntity savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(createUserEntity(request));
+        } catch (DataIntegrityViolationException exception) {
+            if (Constraints.isViolated(exception, UserEntity.UK_EMAIL)) {
+                throw new ConflictException(
+                    messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS, "User"),
+                    messages.format(Messages.ERROR_RESOURCE_ALREADY_EXISTS_CODE, "user"),
+                    exception
+                );
+            }
+            throw exception;
         }
 
-        // Create a new city entity
-        var city = new CityEntity().setName(request.getAddress().getCity());
-
-        // Create a new country entity
-        var country = new CountryEntity().setName(request.getAddress().getCountry());
-
-        // Create a new address entity
-        var address = new AddressEntity();
-        address.setStreet(request.getAddress().getStreet());
-        address.setPostalCode(request.getAddress().getPostalCode());
-        address.setCity(city);
-        address.setCountry(country);
-
-
-        // Create and save a new user entity
-        var user = new UserEntity();
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setBirthDate(request.getBirthDate());
-        user.setEmail(request.getEmail());
-        user.setAddress(address);
-        var savedUser = userRepository.save(user);
-
         // Create and save new credential entity
         var credential = new CredentialEntity();
         String hashedPassword = passwordEncoder.encode(request.getPassword());
@@ -111,15 +142,162 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getUsers() {
-        List<User> users = new ArrayList<>();
+    public UserImportReport importUsers(InputStream csv) throws HttpException {
+        var maxRows = environment.getUserImportMaxRows();
+        List<CreateUserRequest> requests;
+        try {
+            requests = userCsvReader.read(new InputStreamReader(csv, StandardCharsets.UTF_8), maxRows);
+        } catch (UserCsvReader.TooManyRowsException exception) {
+            throw tooManyRows(maxRows);
+        } catch (IOException exception) {
+            throw new BadRequestException(
+                messages.format(Messages.ERROR_IMPORT_INVALID_CSV, exception.getMessage()),
+                messages.get(Messages.ERROR_IMPORT_INVALID_CSV_CODE),
+                exception
+            );
+        }
+
+        return importUsers(requests);
+    }
+
+    @Override
+    public UserImportReport importUsers(List<CreateUserRequest> requests) throws HttpException {
+        var maxRows = environment.getUserImportMaxRows();
+        if (requests.size() > maxRows) {
+            throw tooManyRows(maxRows);
+        }
+
+        // The emails already taken are looked up once for the whole import
+        Set<String> emails = findExistingEmails(requests);
+
+        var results = new Result[requests.size()];
+        List<Integer> accepted = new ArrayList<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            var row = index + 1;
+
+            var error = validate(request);
+            if (error != null) {
+                results[index] = Result.rejected(row, request.getEmail(), error);
+                continue;
+            }
+
+            if (!emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                results[index] = Result.rejected(row, request.getEmail(), messages.get(Messages.ERROR_IMPORT_DUPLICATE_EMAIL));
+                continue;
+            }
+
+            accepted.add(index);
+        }
+
+        // Hashing dominates the cost of an import, the passwords are hashed in parallel before any insert
+        var hashes = passwordHashingPool.encodeAll(accepted.stream().map(index -> requests.get(index).getPassword()).toList());
+
+        // Each batch is inserted in its own transaction, a conflict only rolls back the rows of its batch
+        int created = 0;
+        for (int from = 0; from < accepted.size(); from += IMPORT_BATCH_SIZE) {
+            int to = Math.min(from + IMPORT_BATCH_SIZE, accepted.size());
+            if (insert(requests, accepted.subList(from, to), hashes.subList(from, to), results)) {
+                created += to - from;
+                continue;
+            }
+
+            // An email of the batch was taken since it was checked, the rows are retried one by one
+            for (int position = from; position < to; position++) {
+                int index = accepted.get(position);
+                if (insert(requests, List.of(index), List.of(hashes.get(position)), results)) {
+                    created++;
+                } else {
+                    results[index] = Result.rejected(index + 1, requests.get(index).getEmail(),
+                        messages.get(Messages.ERROR_IMPORT_DUPLICATE_EMAIL));
+                }
+            }
+        }
+
+        var message = messages.format(Messages.MESSAGE_USERS_IMPORTED, created, requests.size());
+        return new UserImportReport(message, Arrays.asList(results));
+    }
+
+    private BadRequestException tooManyRows(int maxRows) {
+        return new BadRequestException(
+            messages.format(Messages.ERROR_IMPORT_TOO_MANY_ROWS, maxRows),
+            messages.get(Messages.ERROR_IMPORT_TOO_MANY_ROWS_CODE)
+        );
+    }
+
+    /**
+     * Inserts the rows of an import in a single transaction and records them as created.
+     *
+     * @param requests The rows of the import.
+     * @param indexes  The indexes of the rows to insert.
+     * @param hashes   The password hashes of the rows to insert, in the same order.
+     * @param results  The results of the import, updated for the inserted rows.
+     * @return true if the rows were inserted, false if the email of one of them is already taken.
+     */
+    private boolean insert(List<CreateUserRequest> requests, List<Integer> indexes, List<String> hashes, Result[] results) {
+        // Entities are created for each attempt, those of a rolled back attempt already hold generated ids
+        List<CredentialEntity> credentials = new ArrayList<>(indexes.size());
+        for (int position = 0; position < indexes.size(); position++) {
+            var credential = new CredentialEntity();
+            credential.setPassword(hashes.get(position));
+            credential.setUser(createUserEntity(requests.get(indexes.get(position))));
+            credentials.add(credential);
+        }
+
+        try {
+            userImportDao.insertAll(credentials);
+        } catch (DataIntegrityViolationException exception) {
+            if (Constraints.isViolated(exception, UserEntity.UK_EMAIL)) {
+                return false;
+            }
+            throw exception;
+        }
+
+        for (int position = 0; position < indexes.size(); position++) {
+            int index = indexes.get(position);
+            var uuid = credentials.get(position).getUser().getUuid();
+            results[index] = Result.created(index + 1, requests.get(index).getEmail(), uuid);
+        }
+        return true;
+    }
+
+    @Override
+    public CursorPage<User> getUsers(String cursor, Integer limit) throws HttpException {
+        var size = limit == null
+            ? environment.getPageSizeDefault()
+            : Math.max(1, Math.min(limit, environment.getPageSizeMax()));
+
+        // One extra row tells whether there is a next page
+        var pageable = PageRequest.ofSize(size + 1);
+
+        List<UserEntity> entities;
+        if (cursor == null || cursor.isBlank()) {
+            entities = userRepository.findFirstPage(pageable);
+        } else {
+            var position = Cursors.decode(cursor).orElseThrow(() -> new BadRequestException(
+                messages.get(Messages.ERROR_INVALID_CURSOR),
+                messages.get(Messages.ERROR_INVALID_CURSOR_CODE)
+            ));
+            entities = userRepository.findPageAfter(position.createdAt(), position.id(), pageable);
+        }
 
-        var entities = userRepository.findAll();
-        for (UserEntity entity : entities) {
-            users.add(mapper.apply(entity));
+        String nextCursor = null;
+        if (entities.size() > size) {
+            entities = entities.subList(0, size);
+            var last = entities.get(size - 1);
+            nextCursor = Cursors.encode(last.getCreatedAt(), last.getUuid());
         }
 
-        return users;
+        return new CursorPage<>(entities.stream().map(mapper).toList(), nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public void exportUsers(OutputStream output) throws IOException {
+        try (var users = userRepository.streamAll()) {
+            ndjsonWriter.write(users, mapper, output);
+        }
     }
 
     @Override
@@ -136,16 +314,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public User updateUser(String id, UserUpdateDto dto) {
         UserEntity user = userRepository.findById(id).get();
+        // The account is cached under the email, the entry of the previous email must go as well
+        String previousEmail = user.getEmail();
 
+        // Cities and countries are shared, the address is pointed to other rows instead of renaming them
         AddressEntity address = user.getAddress();
-        CityEntity city = address.getCity();
-        city.setName(dto.getAddress().getCity());
-
-        CountryEntity country = address.getCountry();
-        country.setName(dto.getAddress().getCountry());
-
-        address.setCity(city);
-        address.setCountry(country);
+        address.setCity(referenceDataResolver.resolveCity(dto.getAddress().getCity()));
+        address.setCountry(referenceDataResolver.resolveCountry(dto.getAddress().getCountry()));
         address.setStreet(dto.getAddress().getStreet());
         address.setPostalCode(dto.getAddress().getPostalCode());
 
@@ -154,15 +329,50 @@ public class UserServiceImpl implements UserService {
         user.setAddress(address);
 
         UserEntity savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new AccountChangedEvent(savedUser.getEmail()));
+        if (!Objects.equals(previousEmail, savedUser.getEmail())) {
+            eventPublisher.publishEvent(new AccountChangedEvent(previousEmail));
+        }
 
         return mapper.apply(savedUser);
     }
 
     @Override
-    public void deleteUser(String id) {
-        userRepository.findById(id).ifPresent(team -> userRepository.deleteById(id));
+    @Transactional(rollbackOn = HttpException.class)
+    public void deleteUser(String id) throws HttpException {
+        // The teams reference their creator, they must be deleted or handed over first
+        if (teamRepository.existsByCreatorUuid(id)) {
+            throw new ConflictException(
+                messages.get(Messages.ERROR_USER_HAS_TEAMS),
+                messages.get(Messages.ERROR_USER_HAS_TEAMS_CODE)
+            );
+        }
+
+        // Only the email is needed to evict the cached account
+        var email = userRepository.findEmailById(id);
+        if (email.isPresent() && deletionDao.deleteUsers(List.of(id)) > 0) {
+            eventPublisher.publishEvent(new AccountChangedEvent(email.get()));
+            // Drops the cached roles of the user in every team
+            eventPublisher.publishEvent(new TeamMembershipChangedEvent(null, id));
+            // Tokens already issued to the user stop working once the deletion is committed
+            eventPublisher.publishEvent(TokensRevokedEvent.all(id));
+        }
     }
 
+    @Override
+    @Transactional(rollbackOn = HttpException.class)
+    public void updatePassword(String id, UpdatePasswordRequest request) throws HttpException {
+        var user = userRepository.findById(id).orElseThrow(UserNotFoundException::new);
+        var credential = credentialRepository.findByUserId(user.getId()).orElseThrow(UserNotFoundException::new);
+
+        if (!passwordEncoder.matches(request.getCurrentPassword(), credential.getPassword())) {
+            throw new InvalidCredentialsException();
+        }
+
+        // Saving the credential moves its token version forward, which revokes the tokens already issued
+        credential.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        credentialRepository.save(credential);
+    }
 
     @Override
     public Team createTeam(String id, CreateTeamRequest request) throws HttpException {
@@ -170,7 +380,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<Team> getUserTeams(String id) throws HttpException {
+    public List<TeamSummary> getUserTeams(String id) throws HttpException {
         // Find the current user using the provided id
         var user = userRepository.findById(id)
             .orElseThrow(() -> new NotFoundException(
@@ -180,4 +390,59 @@ public class UserServiceImpl implements UserService {
 
         return teamService.getUserTeams(user.getId());
     }
+
+    private UserEntity createUserEntity(CreateUserRequest request) {
+        // Create a new address entity, sharing the city and country rows with the other addresses
+        var address = new AddressEntity();
+        address.setStreet(request.getAddress().getStreet());
+        address.setPostalCode(request.getAddress().getPostalCode());
+        address.setCity(referenceDataResolver.resolveCity(request.getAddress().getCity()));
+        address.setCountry(referenceDataResolver.resolveCountry(request.getAddress().getCountry()));
+
+        var user = new UserEntity();
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setBirthDate(request.getBirthDate());
+        user.setEmail(request.getEmail());
+        user.setAddress(address);
+
+        return user;
+    }
+
+    private Set<String> findExistingEmails(List<CreateUserRequest> requests) {
+        var emails = requests.stream()
+            .map(CreateUserRequest::getEmail)
+            .filter(Objects::nonNull)
+            .toList();
+
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        return userRepository.findExistingEmails(emails).stream()
+            .map(email -> email.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Validates an imported row the way the request body of {@code POST /users} is validated.
+     *
+     * @return A description of the violations, or null if the row is valid.
+     */
+    private String validate(CreateUserRequest request) {
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+
+        // Unlike a single sign-up, an imported user cannot set a password later
+        if (request.getPassword() == null) {
+            return messages.get(Messages.ERROR_IMPORT_MISSING_PASSWORD);
+        }
+
+        return null;
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.spi.VerificationCodeStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link VerificationCodeStore} keeping the codes in the memory of the current node.
+ * <p>
+ * The store is bounded, and codes expire a fixed time after they were issued.
+ */
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+  private final Cache<String, Entry> entries;
+
+  public InMemoryVerificationCodeStore(long size, Duration duration) {
+    this.entries = Caffeine.newBuilder()
+        .maximumSize(size)
+        .expireAfterWrite(duration)
+        .build();
+  }
+
+  @Override
+  public void put(String key, VerificationCode code) {
+    entries.put(key, new Entry(code, new AtomicInteger()));
+  }
+
+  @Override
+  public Optional<VerificationCode> get(String key) {
+    return Optional.ofNullable(entries.getIfPresent(key)).map(Entry::code);
+  }
+
+  @Override
+  public int recordAttempt(String key) {
+    var entry = entries.getIfPresent(key);
+    return entry == null ? 0 : entry.attempts().incrementAndGet();
+  }
+
+  @Override
+  public void remove(String key) {
+    entries.invalidate(key);
+  }
+
+  private record Entry(VerificationCode code, AtomicInteger attempts) { }
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entities as newline-delimited JSON, one mapped model per line.
+ * <p>
+ * Each entity is detached once written, and the persistence context is cleared every {@value #FLUSH_INTERVAL}
+ * rows to release the associations loaded along the way, so memory does not grow with the number of rows.
+ * Must be called within the transaction that opened the stream.
+ */
+@Component
+public class NdjsonWriter {
+  public static final String MEDIA_TYPE = "application/x-ndjson";
+
+  private static final int FLUSH_INTERVAL = 500;
+
+  @PersistenceContext
+  private EntityManager manager;
+
+  private final ObjectMapper objectMapper;
+
+  public NdjsonWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public <E, M> void write(Stream<E> entities, Function<E, M> mapper, OutputStream output) throws IOException {
+    // The shared mapper flushes after each value, the rows are flushed in batches instead
+    var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    try (var generator = objectMapper.getFactory().createGenerator(output)) {
+      // The response stream is closed by the container
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+      var count = 0;
+      var iterator = entities.iterator();
+      while (iterator.hasNext()) {
+        var entity = iterator.next();
+        writer.writeValue(generator, mapper.apply(entity));
+        generator.writeRaw('\n');
+        manager.detach(entity);
+
+        if (++count % FLUSH_INTERVAL == 0) {
+          manager.clear();
+          generator.flush();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes passwords in bulk on a bounded pool of threads.
+ * <p>
+ * Password hashing is deliberately slow, so imports hash their passwords in parallel rather than one by one.
+ * The pool has a fixed number of threads and a bounded queue; when the queue is full, the calling thread
+ * hashes the password itself, which slows down the caller instead of growing the backlog.
+ */
+@Component
+public class PasswordHashingPool {
+  private static final int QUEUE_CAPACITY = 256;
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+
+  public PasswordHashingPool(PasswordEncoder passwordEncoder, EnvironmentVariables environment) {
+    this.passwordEncoder = passwordEncoder;
+
+    var threads = Math.max(1, environment.getPasswordHashThreads());
+    var counter = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+        threads, threads,
+        0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+        runnable -> {
+          var thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+  }
+
+  /**
+   * Hashes the passwords.
+   *
+   * @param passwords The raw passwords.
+   * @return The hashed passwords, in the order of the raw passwords.
+   */
+  public List<String> encodeAll(List<String> passwords) {
+    var hashes = passwords.stream()
+        .map(password -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), executor))
+        .toList();
+
+    return hashes.stream().map(CompletableFuture::join).toList();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
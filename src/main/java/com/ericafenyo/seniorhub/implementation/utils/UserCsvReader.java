@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.implementation.utils;
+
+import com.ericafenyo.seniorhub.dto.AddressDto;
+import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the users of an import from CSV.
+ * <p>
+ * The first line is a header naming the columns: firstName, lastName, birthDate (ISO-8601), email, password,
+ * street, postalCode, city and country. Columns may appear in any order, unknown columns are ignored.
+ * Values that cannot be read are left empty, so the row is rejected by validation rather than failing the import.
+ */
+@Component
+public class UserCsvReader {
+  private final CsvMapper mapper = new CsvMapper();
+  private final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+  /**
+   * Reads the rows of the CSV document as they arrive, stopping as soon as there are too many.
+   *
+   * @param csv     The CSV document, with a header line.
+   * @param maxRows The maximum number of rows.
+   * @return The users, in the order of the rows.
+   * @throws TooManyRowsException if the document has more than {@code maxRows} rows.
+   * @throws IOException          if the document is not valid CSV.
+   */
+  public List<CreateUserRequest> read(Reader csv, int maxRows) throws IOException {
+    List<CreateUserRequest> requests = new ArrayList<>();
+
+    // hasNextValue and nextValue report parse errors as IOException, hasNext and next wrap them unchecked
+    try (MappingIterator<Map<String, String>> rows = mapper.readerForMapOf(String.class).with(schema).readValues(csv)) {
+      while (rows.hasNextValue()) {
+        if (requests.size() == maxRows) {
+          throw new TooManyRowsException(maxRows);
+        }
+        requests.add(toRequest(rows.nextValue()));
+      }
+    }
+
+    return requests;
+  }
+
+  private CreateUserRequest toRequest(Map<String, String> row) {
+    var address = new AddressDto();
+    address.setStreet(value(row, "street"));
+    address.setPostalCode(value(row, "postalCode"));
+    address.setCity(value(row, "city"));
+    address.setCountry(value(row, "country"));
+
+    var request = new CreateUserRequest();
+    request.setFirstName(value(row, "firstName"));
+    request.setLastName(value(row, "lastName"));
+    request.setBirthDate(date(value(row, "birthDate")));
+    request.setEmail(value(row, "email"));
+    request.setPassword(value(row, "password"));
+    request.setAddress(address);
+
+    return request;
+  }
+
+  private static String value(Map<String, String> row, String column) {
+    var value = row.get(column);
+    return value == null || value.isBlank() ? null : value.strip();
+  }
+
+  /**
+   * Thrown when a document has more rows than allowed in a single import.
+   */
+  public static class TooManyRowsException extends IOException {
+    public TooManyRowsException(int maxRows) {
+      super("The document has more than " + maxRows + " rows");
+    }
+  }
+
+  private static LocalDate date(String value) {
+    if (value == null) {
+      return null;
+    }
+
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException exception) {
+      return null;
+    }
+  }
+}
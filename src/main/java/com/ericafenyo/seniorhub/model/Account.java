@@ -28,10 +28,13 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -41,9 +44,50 @@ public class Account implements UserDetails {
     private String email;
     private String password;
 
+    /**
+     * The version of the credentials the tokens of this account are issued against.
+     * <p>
+     * Tokens carrying an older version are rejected.
+     */
+    private long tokenVersion;
+
+    /**
+     * The application-wide authorities of the account, e.g. {@code users:import}.
+     * <p>
+     * Most accounts hold none, actions on a team are authorized from the role held in the team instead.
+     */
+    private Set<String> authorityNames = Set.of();
+
+    public Account() { }
+
+    public Account(String id, String email, String password, long tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Account(String id, String email, String password, long tokenVersion, String authorities) {
+        this(id, email, password, tokenVersion);
+        this.authorityNames = parseAuthorities(authorities);
+    }
+
+    /**
+     * Parses authorities stored as a space-separated list, the form used by the credentials and the tokens.
+     *
+     * @param authorities The space-separated authorities, or null.
+     * @return The authorities, empty if there are none.
+     */
+    public static Set<String> parseAuthorities(String authorities) {
+        if (authorities == null || authorities.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(authorities.strip().split("\\s+")).collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.emptyList();
+        return authorityNames.stream().map(SimpleGrantedAuthority::new).toList();
     }
 
     @Override
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch of invitations, with the result of each email address.
+ */
+@Getter
+public class InvitationBatchReport extends Report {
+
+  /**
+   * The result of each invitation, in the order of the request.
+   */
+  private final List<Result> results;
+
+  public InvitationBatchReport(String message, List<Result> results) {
+    super(message);
+    this.results = results;
+  }
+
+  /**
+   * The result of the invitation sent to a single email address.
+   *
+   * @param email The email address of the person being invited.
+   * @param status Whether the invitation was sent.
+   * @param error The reason why the invitation was rejected, null if it was sent.
+   */
+  public record Result(String email, Status status, String error) {
+    public static Result invited(String email) {
+      return new Result(email, Status.INVITED, null);
+    }
+
+    public static Result rejected(String email, String error) {
+      return new Result(email, Status.REJECTED, error);
+    }
+  }
+
+  public enum Status {
+    INVITED,
+    REJECTED
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.model;
+
+import lombok.Getter;
+
+/**
+ * A lightweight view of a team from the point of view of one of its members.
+ */
+@Getter
+public class TeamSummary {
+    /**
+     * The unique identifier of the team.
+     */
+    private final String id;
+
+    /**
+     * The name of the team.
+     */
+    private final String name;
+
+    /**
+     * The slug of the role the member holds in the team.
+     */
+    private final String role;
+
+    /**
+     * The number of members of the team.
+     */
+    private final long memberCount;
+
+    public TeamSummary(String id, String name, String role, long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.memberCount = memberCount;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The outcome of a user import, with the result of each row.
+ */
+@Getter
+public class UserImportReport extends Report {
+
+  /**
+   * The result of each row, in the order of the request.
+   */
+  private final List<Result> results;
+
+  public UserImportReport(String message, List<Result> results) {
+    super(message);
+    this.results = results;
+  }
+
+  /**
+   * The result of a single imported row.
+   *
+   * @param row The position of the row in the request, starting at 1.
+   * @param email The email address of the user.
+   * @param status Whether the user was created.
+   * @param id The unique identifier of the created user, null if the row was rejected.
+   * @param error The reason why the row was rejected, null if the user was created.
+   */
+  public record Result(int row, String email, Status status, String id, String error) {
+    public static Result created(int row, String email, String id) {
+      return new Result(row, email, Status.CREATED, id, null);
+    }
+
+    public static Result rejected(int row, String email, String error) {
+      return new Result(row, email, Status.REJECTED, null, error);
+    }
+  }
+
+  public enum Status {
+    CREATED,
+    REJECTED
+  }
+}
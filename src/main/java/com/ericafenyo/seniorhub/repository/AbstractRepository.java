@@ -24,10 +24,12 @@
 
 package com.ericafenyo.seniorhub.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,17 +40,42 @@ public interface AbstractRepository<T> extends Repository<T, Long> {
 
     <E extends T> E save(E entity);
 
+    /**
+     * Saves the entity and flushes it immediately, so that constraint violations are raised by this call
+     * rather than when the transaction commits.
+     */
+    <E extends T> E saveAndFlush(E entity);
+
     List<T> findAll();
 
     void delete(T entity);
 
+    /**
+     * Deletes the entity with the given uuid in a single statement, without loading it.
+     * The rows referencing the entity are not deleted.
+     *
+     * @return The number of entities deleted.
+     */
+    @Modifying
     @Query("DELETE FROM #{#entityName} as e WHERE e.uuid=?1")
-    void deleteById(String id);
+    int deleteById(String id);
+
+    /**
+     * Deletes the entities with the given uuids in a single statement, without loading them.
+     * The rows referencing the entities are not deleted.
+     *
+     * @return The number of entities deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} as e WHERE e.uuid IN ?1")
+    int deleteAllById(Collection<String> ids);
 
-    @Query("SELECT COUNT(e) FROM #{#entityName} as e WHERE e.uuid=?1")
-    long countById(String id);
+    /**
+     * Checks whether an entity with the given uuid exists, stopping at the first matching row.
+     */
+    boolean existsByUuid(String id);
 
     default boolean exists(String id) {
-        return countById(id) > 0;
+        return existsByUuid(id);
     }
 }
@@ -25,10 +25,20 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.model.Account;
 
 import java.util.Optional;
 
 public interface CredentialRepository {
   Optional<CredentialEntity> findByUserId(Long userId);
+
+  /**
+   * Loads the account of a user and its credential with a single query.
+   *
+   * @param email The email address of the user.
+   * @return The account, or an empty {@link Optional} if the user or its credential does not exist.
+   */
+  Optional<Account> findAccountByEmail(String email);
+
   CredentialEntity save(CredentialEntity entity);
 }
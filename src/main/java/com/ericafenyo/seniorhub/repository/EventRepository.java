@@ -28,6 +28,7 @@ import com.ericafenyo.seniorhub.entities.EventEntity;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository {
@@ -36,4 +37,17 @@ public interface EventRepository {
   Optional<EventEntity> findById(String id);
 
   Iterable<EventEntity> findAll();
+
+  /**
+   * Deletes the event with the given uuid in a single statement, without loading it.
+   *
+   * @return The number of events deleted.
+   */
+  int deleteById(String id);
+
+  /**
+   * Scrolls through all the events, fetching rows from the database in chunks.
+   * The stream must be consumed and closed within a transaction.
+   */
+  Stream<EventEntity> streamAll();
 }
@@ -25,12 +25,26 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.RoleEntity;
-import com.ericafenyo.seniorhub.entities.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends AbstractRepository<RoleEntity> {
+    // Roles are reference data, both lookups are served from the query cache
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findBySlug(String slug);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RoleEntity> findAll();
+
+    @Query("SELECT DISTINCT e FROM roles as e LEFT JOIN FETCH e.permissions")
+    List<RoleEntity> findAllWithPermissions();
 }
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.repository;
+
+import com.ericafenyo.seniorhub.entities.TeamMemberEntity;
+import com.ericafenyo.seniorhub.entities.TeamMemberIds;
+import com.ericafenyo.seniorhub.model.TeamSummary;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TeamMemberRepository extends org.springframework.data.repository.Repository<TeamMemberEntity, TeamMemberIds> {
+    /**
+     * Adds a member to a team unless the user already is a member, without loading the team members.
+     *
+     * @param teamId The internal id of the team.
+     * @param userId The internal id of the user.
+     * @param roleId The internal id of the role of the member.
+     * @return 1 if the member was added, 0 if the user already was a member.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO team_user (team_id, user_id, role_id) SELECT ?1, ?2, ?3 FROM DUAL " +
+        "WHERE NOT EXISTS (SELECT 1 FROM team_user WHERE team_id = ?1 AND user_id = ?2)", nativeQuery = true)
+    int addMember(Long teamId, Long userId, Long roleId);
+
+    /**
+     * Returns the role the user holds in a team.
+     *
+     * @param teamId The unique identifier of the team.
+     * @param userId The unique identifier of the user.
+     * @return The internal id of the role, or an empty optional if the user is not a member of the team.
+     */
+    @Query("SELECT m.role.id FROM team_user as m WHERE m.team.uuid = ?1 AND m.user.uuid = ?2")
+    Optional<Long> findRoleId(String teamId, String userId);
+
+    /**
+     * Returns the teams the user is a member of, with the role of the user and the size of each team.
+     * <p>
+     * The memberships are read from the (user_id, team_id, role_id) index, and only the team columns
+     * needed by the summary are loaded.
+     *
+     * @param userId The internal id of the member.
+     * @return The summaries, ordered by team name.
+     */
+    @Query("SELECT new com.ericafenyo.seniorhub.model.TeamSummary(t.uuid, t.name, r.slug, " +
+        "(SELECT COUNT(o) FROM team_user as o WHERE o.team = t)) " +
+        "FROM team_user as m JOIN m.team t LEFT JOIN m.role r " +
+        "WHERE m.user.id = ?1 ORDER BY t.name")
+    List<TeamSummary> findTeamSummaries(Long userId);
+}
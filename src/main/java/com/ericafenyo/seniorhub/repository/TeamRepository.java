@@ -25,17 +25,33 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.TeamEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 @Repository
-public interface TeamRepository extends AbstractRepository<TeamEntity> {
-    default boolean existsByName(String name) {
-        return countByName(name) > 0;
-    }
+public interface TeamRepository extends AbstractRepository<TeamEntity>, JpaSpecificationExecutor<TeamEntity> {
+    boolean existsByName(String name);
 
-    long countByName(String name);
+    boolean existsByCreatorUuid(String creatorId);
 
-    List<TeamEntity> findAllByCreatorId(Long id);
+    /**
+     * Scrolls through the teams in which the user holds one of the given roles, fetching rows from the database
+     * in chunks. The stream must be consumed and closed within a transaction.
+     *
+     * @param userId  The public id of the member.
+     * @param roleIds The internal ids of the roles, must not be empty.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM team_user as m JOIN m.team t WHERE m.user.uuid = ?1 AND m.role.id IN ?2")
+    Stream<TeamEntity> streamByMemberRoles(String userId, Collection<Long> roleIds);
 }
@@ -25,13 +25,63 @@
 package com.ericafenyo.seniorhub.repository;
 
 import com.ericafenyo.seniorhub.entities.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends AbstractRepository<UserEntity> {
     Optional<UserEntity> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Returns the email address of the user, without loading the user.
+     */
+    @Query("SELECT e.email FROM users as e WHERE e.uuid = ?1")
+    Optional<String> findEmailById(String id);
+
+    /**
+     * Returns which of the given email addresses already belong to a user, in a single lookup on the email index.
+     */
+    @Query("SELECT e.email FROM users as e WHERE e.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Returns the first users ordered by creation date, with their address.
+     */
+    @EntityGraph(attributePaths = {"address", "address.city", "address.country"})
+    @Query("SELECT e FROM users as e ORDER BY e.createdAt, e.uuid")
+    List<UserEntity> findFirstPage(Pageable pageable);
+
+    /**
+     * Returns the users following the given position in creation order, with their address.
+     * <p>
+     * The position is compared on the indexed (created_at, uuid) pair, so the cost does not grow with the offset.
+     * Uuids are time-ordered, the tiebreaker follows the creation order as well.
+     */
+    @EntityGraph(attributePaths = {"address", "address.city", "address.country"})
+    @Query("SELECT e FROM users as e WHERE e.createdAt > ?1 OR (e.createdAt = ?1 AND e.uuid > ?2) ORDER BY e.createdAt, e.uuid")
+    List<UserEntity> findPageAfter(Instant createdAt, String id, Pageable pageable);
+
+    /**
+     * Scrolls through all the users with their address, fetching rows from the database in chunks.
+     * The stream must be consumed and closed within a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM users as e LEFT JOIN FETCH e.address a LEFT JOIN FETCH a.city LEFT JOIN FETCH a.country")
+    Stream<UserEntity> streamAll();
 }
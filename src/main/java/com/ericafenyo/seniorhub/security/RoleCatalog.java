@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.security;
+
+import com.ericafenyo.seniorhub.entities.PermissionEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory catalog of the roles and their permissions.
+ * <p>
+ * Roles are indexed by slug and by id, and the permissions of each role are kept as a bitset, one bit per
+ * permission, so role lookups and permission checks never reach the database. Roles and permissions are only
+ * written by the seed migrations, so the catalog is loaded once at startup; a change to the roles requires a restart.
+ */
+@Component
+public class RoleCatalog {
+    private final RoleRepository roleRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), Map.of());
+
+    public RoleCatalog(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Loads the roles and permissions from the database.
+     */
+    @PostConstruct
+    void load() {
+        var roles = roleRepository.findAllWithPermissions();
+
+        // Bits are assigned in permission id order, so they are stable across restarts on the same data
+        Map<Long, Integer> permissionBits = new HashMap<>();
+        roles.stream()
+            .flatMap(role -> role.getPermissions().stream())
+            .map(PermissionEntity::getId)
+            .distinct()
+            .sorted(Comparator.naturalOrder())
+            .forEach(id -> permissionBits.put(id, permissionBits.size()));
+
+        Map<String, Integer> bitsByName = new HashMap<>();
+        Map<String, Entry> bySlug = new HashMap<>();
+        Map<Long, Entry> byId = new HashMap<>();
+
+        for (RoleEntity role : roles) {
+            var permissions = new BitSet(permissionBits.size());
+            for (PermissionEntity permission : role.getPermissions()) {
+                int bit = permissionBits.get(permission.getId());
+                permissions.set(bit);
+                bitsByName.put(normalize(permission.getName()), bit);
+            }
+
+            var entry = new Entry(role.getId(), role.getSlug(), role.getName(), permissions);
+            bySlug.put(normalize(role.getSlug()), entry);
+            byId.put(role.getId(), entry);
+        }
+
+        snapshot = new Snapshot(Map.copyOf(bySlug), Map.copyOf(byId), Map.copyOf(bitsByName));
+    }
+
+    /**
+     * Finds a role by slug, ignoring case.
+     */
+    public Optional<Entry> findBySlug(String slug) {
+        return slug == null ? Optional.empty() : Optional.ofNullable(snapshot.bySlug().get(normalize(slug)));
+    }
+
+    /**
+     * Finds a role by its internal id.
+     */
+    public Optional<Entry> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    /**
+     * Checks if a role with the given slug exists, ignoring case.
+     */
+    public boolean exists(String slug) {
+        return findBySlug(slug).isPresent();
+    }
+
+    /**
+     * Returns the bit of a permission in the role bitsets.
+     *
+     * @param permission The name of the permission.
+     * @return The bit index, or -1 if no role grants the permission.
+     */
+    public int bitOf(String permission) {
+        return snapshot.permissionBits().getOrDefault(normalize(permission), -1);
+    }
+
+    /**
+     * Returns the ids of the roles granting the permission.
+     *
+     * @param permission The name of the permission.
+     * @return The role ids, empty if no role grants the permission.
+     */
+    public Set<Long> findGranting(String permission) {
+        var bit = bitOf(permission);
+        return snapshot.byId().values().stream()
+            .filter(role -> role.grants(bit))
+            .map(Entry::id)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Checks if a role grants every permission of another role, so a holder of the first role may hand out the
+     * second one without gaining rights.
+     *
+     * @param roleId        The id of the role held.
+     * @param grantedRoleId The id of the role to hand out.
+     * @return true if both roles exist and the first grants every permission of the second, false otherwise.
+     */
+    public boolean includes(Long roleId, Long grantedRoleId) {
+        var role = findById(roleId);
+        var granted = findById(grantedRoleId);
+        if (role.isEmpty() || granted.isEmpty()) {
+            return false;
+        }
+
+        var missing = (BitSet) granted.get().permissions.clone();
+        missing.andNot(role.get().permissions);
+        return missing.isEmpty();
+    }
+
+    /**
+     * Checks if the role with the given id grants the permission.
+     */
+    public boolean hasPermission(Long roleId, String permission) {
+        return findById(roleId).map(role -> role.grants(bitOf(permission))).orElse(false);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A role of the catalog with its permission bitset.
+     */
+    public static final class Entry {
+        private final Long id;
+        private final String slug;
+        private final String name;
+        private final BitSet permissions;
+
+        private Entry(Long id, String slug, String name, BitSet permissions) {
+            this.id = id;
+            this.slug = slug;
+            this.name = name;
+            this.permissions = permissions;
+        }
+
+        public Long id() {
+            return id;
+        }
+
+        public String slug() {
+            return slug;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Checks if the role grants the permission with the given bit, as returned by {@link RoleCatalog#bitOf}.
+         */
+        public boolean grants(int permissionBit) {
+            return permissionBit >= 0 && permissions.get(permissionBit);
+        }
+    }
+
+    private record Snapshot(Map<String, Entry> bySlug, Map<Long, Entry> byId, Map<String, Integer> permissionBits) { }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.security;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
+import com.ericafenyo.seniorhub.repository.TeamMemberRepository;
+import com.ericafenyo.seniorhub.util.Accounts;
+import com.ericafenyo.seniorhub.util.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Authorizes actions on a team from the role the user holds in it.
+ * <p>
+ * The role of a member is read from team_user, it is the role the member was invited with, and its permissions
+ * come from the {@link RoleCatalog}. The role of each (user, team) pair is cached, non-members included, so
+ * repeated checks never reach the database. Entries are evicted when a {@link TeamMembershipChangedEvent}
+ * is published. Used from method security expressions, for example:
+ * <pre>
+ * &#64;PreAuthorize("&#64;teamAuthorization.hasPermission(authentication, #id, 'teams:update')")
+ * </pre>
+ */
+@Component("teamAuthorization")
+public class TeamAuthorization {
+    /**
+     * The permission required to read a team.
+     */
+    public static final String PERMISSION_READ = "teams:read";
+
+    private static final String CACHE_NAME = "team-roles";
+
+    /**
+     * Cached in place of the role id for users who are not members of the team.
+     */
+    private static final Long NO_ROLE = -1L;
+
+    private final TeamMemberRepository teamMemberRepository;
+    private final RoleCatalog roleCatalog;
+
+    /**
+     * Role ids keyed by user and team.
+     */
+    private final Cache roles;
+
+    public TeamAuthorization(
+        TeamMemberRepository teamMemberRepository,
+        RoleCatalog roleCatalog,
+        EnvironmentVariables environment,
+        MeterRegistry meterRegistry
+    ) {
+        this.teamMemberRepository = teamMemberRepository;
+        this.roleCatalog = roleCatalog;
+        this.roles = Cache.builder()
+            .size(environment.getTeamRoleCacheSize())
+            .duration(Duration.ofSeconds(environment.getTeamRoleCacheTtlSeconds()))
+            .recordStats(true)
+            .build();
+
+        roles.registerMetrics(meterRegistry, CACHE_NAME);
+    }
+
+    /**
+     * Checks if the role of the authenticated user in the team grants the permission.
+     *
+     * @param authentication The authentication of the current request.
+     * @param teamId         The unique identifier of the team.
+     * @param permission     The name of the permission, e.g. {@code tasks:create}.
+     * @return true if the user is a member of the team with a role granting the permission, false otherwise.
+     */
+    public boolean hasPermission(Authentication authentication, String teamId, String permission) {
+        var roleId = findRoleId(authentication, teamId);
+        return roleId != null && roleCatalog.hasPermission(roleId, permission);
+    }
+
+    /**
+     * Evicts the cached roles affected by the change once it has been committed.
+     *
+     * @param event The membership change notification.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(TeamMembershipChangedEvent event) {
+        if (event.userId() == null) {
+            // The members of the team are not known here, and team-wide changes are rare
+            roles.invalidate();
+        } else if (event.teamId() == null) {
+            roles.removeIf(key -> key.startsWith(event.userId() + ":"));
+        } else {
+            roles.remove(key(event.userId(), event.teamId()));
+        }
+    }
+
+    private Long findRoleId(Authentication authentication, String teamId) {
+        var userId = authentication == null ? null : Accounts.extractUserId(authentication);
+        if (userId == null || teamId == null) {
+            return null;
+        }
+
+        var key = key(userId, teamId);
+        var roleId = roles.get(key, Long.class).orElse(null);
+        if (roleId == null) {
+            roleId = teamMemberRepository.findRoleId(teamId, userId).orElse(NO_ROLE);
+            roles.put(key, roleId);
+        }
+
+        return NO_ROLE.equals(roleId) ? null : roleId;
+    }
+
+    private static String key(String userId, String teamId) {
+        return userId + ":" + teamId;
+    }
+}
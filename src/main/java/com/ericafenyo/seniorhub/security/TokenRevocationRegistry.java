@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.security;
+
+import com.ericafenyo.seniorhub.events.TokensRevokedEvent;
+import com.ericafenyo.seniorhub.services.JwtAuthenticationService;
+import com.ericafenyo.seniorhub.util.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * An in-memory record of revoked access tokens, used when the account principal is rebuilt from the token alone.
+ * <p>
+ * For each user, it keeps the minimum token version still accepted. Entries are dropped once every token
+ * they could reject has expired, so the registry only holds users revoked within the last token lifetime.
+ * The registry is local to the node, a revocation is not seen by other nodes.
+ */
+@Component
+public class TokenRevocationRegistry {
+    /**
+     * Entries only leave the registry by expiring. Evicting one early would make the tokens it rejects
+     * valid again, so the registry has no size bound.
+     */
+    private final Cache minimumVersions = Cache.builder()
+        .size(Long.MAX_VALUE)
+        .duration(JwtAuthenticationService.TOKEN_LIFETIME)
+        .build();
+
+    /**
+     * Rejects every token of the user issued against a version lower than the given one.
+     *
+     * @param userId  The unique identifier of the user.
+     * @param version The minimum token version still accepted.
+     */
+    public void revoke(String userId, long version) {
+        minimumVersions.put(userId, version);
+    }
+
+    /**
+     * Revokes the tokens once the change that made them stale has been committed, so a rolled back
+     * change leaves them valid.
+     *
+     * @param event The revocation notification.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(TokensRevokedEvent event) {
+        revoke(event.userId(), event.version());
+    }
+
+    /**
+     * Rejects every token issued for the user.
+     *
+     * @param userId The unique identifier of the user.
+     */
+    public void revokeAll(String userId) {
+        revoke(userId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Checks if a token has been revoked.
+     *
+     * @param userId  The unique identifier of the user the token was issued for.
+     * @param version The version carried by the token.
+     * @return true if the token has been revoked, false otherwise.
+     */
+    public boolean isRevoked(String userId, long version) {
+        return minimumVersions.get(userId, Long.class)
+            .map(minimum -> version < minimum)
+            .orElse(false);
+    }
+}
@@ -24,38 +24,79 @@
 
 package com.ericafenyo.seniorhub.services;
 
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.events.AccountChangedEvent;
 import com.ericafenyo.seniorhub.mapper.RoleMapper;
 import com.ericafenyo.seniorhub.model.Account;
 import com.ericafenyo.seniorhub.repository.CredentialRepository;
-import com.ericafenyo.seniorhub.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import com.ericafenyo.seniorhub.util.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 @Service
-@AllArgsConstructor
 public class AccountService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private static final String CACHE_NAME = "accounts";
+
     private final CredentialRepository credentialRepository;
     private final RoleMapper roleMapper;
 
+    /**
+     * Accounts keyed by email address, shared by the login path and the JWT filter.
+     */
+    private final Cache accounts;
+
+    public AccountService(
+        CredentialRepository credentialRepository,
+        RoleMapper roleMapper,
+        EnvironmentVariables environment,
+        MeterRegistry meterRegistry
+    ) {
+        this.credentialRepository = credentialRepository;
+        this.roleMapper = roleMapper;
+        this.accounts = Cache.builder()
+            .size(environment.getAccountCacheSize())
+            .duration(Duration.ofSeconds(environment.getAccountCacheTtlSeconds()))
+            .recordStats(true)
+            .build();
+
+        accounts.registerMetrics(meterRegistry, CACHE_NAME);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return getAccount(username);
     }
 
     public Account getAccount(String email) {
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Username '" + email + "' not found"));
+        var cached = accounts.get(email, Account.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        var account = loadAccount(email);
+        accounts.put(email, account);
+
+        return account;
+    }
 
-        var credential = credentialRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new UsernameNotFoundException("Credential for username '" + email + "' not found"));
+    /**
+     * Evicts the cached account once the change that triggered the event has been committed.
+     *
+     * @param event The account change notification.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        accounts.remove(event.email());
+    }
 
-        return new Account()
-                .setId(user.getUuid())
-                .setEmail(user.getEmail())
-                .setPassword(credential.getPassword());
+    private Account loadAccount(String email) {
+        return credentialRepository.findAccountByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Username '" + email + "' not found"));
     }
 }
@@ -30,11 +30,15 @@ import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.event.EventNotFoundException;
 import com.ericafenyo.seniorhub.model.Event;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EventService {
   List<Event> getEvents() throws HttpException;
 
+  void exportEvents(OutputStream output) throws IOException;
+
   Event getEventById(String id) throws HttpException;
 
   Event createEvent(CreateEventRequest request);
@@ -25,12 +25,16 @@
 package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.dto.AcceptInvitationRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.ValidateInvitationRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.invitation.InvitationException;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport;
 import com.ericafenyo.seniorhub.model.Report;
 
+import java.util.List;
+
 /**
  * This interface defines the contract for invitation-related operations.
  */
@@ -47,6 +51,19 @@ public interface InvitationService {
      */
     Report invite(String teamId, String inviterId, String role, String email) throws HttpException;
 
+    /**
+     * Invites several people to join a team at once.
+     * <p>
+     * Invalid entries are rejected individually and reported, the other invitations are still sent.
+     *
+     * @param teamId      The ID of the team to which the people are being invited.
+     * @param inviterId   The ID of the user sending the invitations.
+     * @param invitations The email addresses and roles of the people being invited.
+     * @return An {@link InvitationBatchReport} containing the result of each invitation.
+     * @throws HttpException If the team or the inviter does not exist.
+     */
+    InvitationBatchReport inviteAll(String teamId, String inviterId, List<InvitationRequest> invitations) throws HttpException;
+
     /**
      * Validates an invitation using the provided request.
      *
@@ -26,9 +26,16 @@ package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.dao.InvitationDao;
 import com.ericafenyo.seniorhub.dto.AcceptInvitationRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.ValidateInvitationRequest;
 import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
+import com.ericafenyo.seniorhub.exceptions.ForbiddenException;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.exceptions.NotFoundException;
 import com.ericafenyo.seniorhub.exceptions.invitation.InvitationAlreadyUsedException;
@@ -37,27 +44,52 @@ import com.ericafenyo.seniorhub.exceptions.invitation.InvitationNotFoundExceptio
 import com.ericafenyo.seniorhub.exceptions.role.InvalidRoleException;
 import com.ericafenyo.seniorhub.mapper.InvitationMapper;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport.Result;
 import com.ericafenyo.seniorhub.model.Mail;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.repository.InvitationRepository;
 import com.ericafenyo.seniorhub.repository.RoleRepository;
+import com.ericafenyo.seniorhub.repository.TeamMemberRepository;
 import com.ericafenyo.seniorhub.repository.TeamRepository;
 import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.security.RoleCatalog;
 import com.ericafenyo.seniorhub.util.Hashing;
 import com.ericafenyo.seniorhub.util.Invitations;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.ericafenyo.seniorhub.Constants.REGEX_EMAIL;
 
 import static com.ericafenyo.seniorhub.Messages.ERROR_RESOURCE_NOTFOUND;
 import static com.ericafenyo.seniorhub.Messages.ERROR_RESOURCE_NOTFOUND_CODE;
+import static com.ericafenyo.seniorhub.Messages.ERROR_INVITATION_DUPLICATE_EMAIL;
+import static com.ericafenyo.seniorhub.Messages.ERROR_INVITATION_INVALID_EMAIL;
+import static com.ericafenyo.seniorhub.Messages.ERROR_INVITATION_INVALID_ROLE;
+import static com.ericafenyo.seniorhub.Messages.ERROR_INVITATION_ROLE_NOT_GRANTABLE;
+import static com.ericafenyo.seniorhub.Messages.ERROR_INVITATION_ROLE_NOT_GRANTABLE_CODE;
+import static com.ericafenyo.seniorhub.Messages.MESSAGE_INVITATIONS_SENT;
 import static com.ericafenyo.seniorhub.Messages.MESSAGE_INVITATION_ACCEPTED;
 
 @Service
 @RequiredArgsConstructor
 public class InvitationServiceImpl implements InvitationService {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(REGEX_EMAIL);
+
     private final EnvironmentVariables environment;
     private final InvitationMapper invitationMapper;
     private final InvitationRepository invitationRepository;
@@ -65,45 +97,129 @@ public class InvitationServiceImpl implements InvitationService {
     private final UserRepository userRepository;
     private final Messages messages;
     private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
     private final RoleRepository roleRepository;
+    private final InvitationDao invitationDao;
+    private final RoleCatalog roleCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public Report invite(String teamId, String inviterId, String roleSlug, String email) throws HttpException {
+        var inviter = findInviter(inviterId);
+        var team = findTeam(teamId);
+
+        var role = roleRepository.findBySlug(roleSlug).orElseThrow(() -> new InvalidRoleException());
+
+        // An invitation cannot hand out permissions the inviter does not hold in the team
+        if (!roleCatalog.includes(findInviterRoleId(teamId, inviterId), role.getId())) {
+            throw new ForbiddenException(
+                messages.format(ERROR_INVITATION_ROLE_NOT_GRANTABLE, role.getSlug()),
+                messages.get(ERROR_INVITATION_ROLE_NOT_GRANTABLE_CODE)
+            );
+        }
+
+        var invitation = createInvitation(email, role, team, inviter, Instant.now());
+
+        invitationRepository.save(invitation);
+
+        return mailService.sendInvitation(email, createMailContext(invitation.getToken()));
+    }
+
+    @Override
+    @Transactional
+    public InvitationBatchReport inviteAll(String teamId, String inviterId, List<InvitationRequest> requests) throws HttpException {
+        // The inviter, the team and the roles are resolved once for the whole batch
+        var inviter = findInviter(inviterId);
+        var team = findTeam(teamId);
+        Map<Long, RoleEntity> roles = roleRepository.findAll().stream()
+            .collect(Collectors.toMap(RoleEntity::getId, Function.identity()));
+        var inviterRoleId = findInviterRoleId(teamId, inviterId);
+
+        var now = Instant.now();
+        List<InvitationEntity> invitations = new ArrayList<>();
+        Map<String, Mail.Context> mails = new LinkedHashMap<>();
+        List<Result> results = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+
+        for (var request : requests) {
+            var email = request.getEmail();
+
+            if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+                results.add(Result.rejected(email, messages.get(ERROR_INVITATION_INVALID_EMAIL)));
+                continue;
+            }
+
+            if (!emails.add(email.toLowerCase(Locale.ROOT))) {
+                results.add(Result.rejected(email, messages.get(ERROR_INVITATION_DUPLICATE_EMAIL)));
+                continue;
+            }
+
+            // The catalog matches slugs regardless of case
+            var role = roleCatalog.findBySlug(request.getRole()).map(entry -> roles.get(entry.id())).orElse(null);
+            if (role == null) {
+                results.add(Result.rejected(email, messages.format(ERROR_INVITATION_INVALID_ROLE, request.getRole())));
+                continue;
+            }
 
+            if (!roleCatalog.includes(inviterRoleId, role.getId())) {
+                results.add(Result.rejected(email, messages.format(ERROR_INVITATION_ROLE_NOT_GRANTABLE, role.getSlug())));
+                continue;
+            }
+
+            var invitation = createInvitation(email, role, team, inviter, now);
+            invitations.add(invitation);
+            mails.put(email, createMailContext(invitation.getToken()));
+            results.add(Result.invited(email));
+        }
+
+        if (!invitations.isEmpty()) {
+            invitationDao.insertAll(invitations);
+            mailService.sendInvitations(mails);
+        }
+
+        var message = messages.format(MESSAGE_INVITATIONS_SENT, invitations.size(), requests.size());
+        return new InvitationBatchReport(message, results);
+    }
+
+    private UserEntity findInviter(String inviterId) throws NotFoundException {
         // Get the inviter or throw an error if it does not exist
-        var inviter = userRepository.findById(inviterId).orElseThrow(
+        return userRepository.findById(inviterId).orElseThrow(
             () -> new NotFoundException(
                 messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "User", inviterId),
                 messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "user")
             )
         );
+    }
+
+    private Long findInviterRoleId(String teamId, String inviterId) {
+        return teamMemberRepository.findRoleId(teamId, inviterId).orElse(null);
+    }
 
+    private TeamEntity findTeam(String teamId) throws NotFoundException {
         // Get the team or throw an error if it does not exist
-        var team = teamRepository.findById(teamId).orElseThrow(() -> new NotFoundException(
+        return teamRepository.findById(teamId).orElseThrow(() -> new NotFoundException(
             messages.format(Messages.ERROR_RESOURCE_WITH_ID_NOTFOUND, "Team", teamId),
             messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "team")
         ));
+    }
 
-        var role = roleRepository.findBySlug(roleSlug).orElseThrow(() -> new InvalidRoleException());
-
-        String token = Hashing.randomSHA256();
-
-        var invitation = new InvitationEntity()
-            .setToken(token)
+    private InvitationEntity createInvitation(String email, RoleEntity role, TeamEntity team, UserEntity inviter, Instant now) {
+        return new InvitationEntity()
+            .setToken(Hashing.randomSHA256())
             .setEmail(email)
             .setRole(role)
-            .setExpiresAt(Instant.now().plusSeconds(environment.getInvitationExpirySeconds()))
+            .setExpiresAt(now.plusSeconds(environment.getInvitationExpirySeconds()))
             .setTeam(team)
             .setInviter(inviter);
+    }
 
-        invitationRepository.save(invitation);
-
+    private Mail.Context createMailContext(String token) {
         var baseUrl = environment.getBaseUrl();
         var link = "%s/invitations?token=%s".formatted(baseUrl, token);
         var context = new Mail.Context();
         context.put("link", link);
-        return mailService.sendInvitation(email, context);
+        return context;
     }
 
     @Override
@@ -158,9 +274,9 @@ public class InvitationServiceImpl implements InvitationService {
                 messages.format(ERROR_RESOURCE_NOTFOUND_CODE, "invitee")
             ));
 
-        var team = invitation.getTeam();
-
-        team.getMembers().add(invitee);
+        // The invitee joins with the role the invitation was sent for, a single insert whatever the team size
+        teamMemberRepository.addMember(invitation.getTeam().getId(), invitee.getId(), invitation.getRole().getId());
+        eventPublisher.publishEvent(new TeamMembershipChangedEvent(invitation.getTeam().getUuid(), invitee.getUuid()));
 
         invitation.setUsedAt(Instant.now());
         invitation.setStatus(Invitation.Status.ACCEPTED);
@@ -28,24 +28,48 @@ package com.ericafenyo.seniorhub.services;
 import com.ericafenyo.seniorhub.EnvironmentVariables;
 import com.ericafenyo.seniorhub.model.Account;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtAuthenticationService {
     private static final String EMAIL_KEY = "email";
     private static final String ROLE_KEY = "role";
+    private static final String VERSION_KEY = "ver";
+    private static final String AUTHORITIES_KEY = "authorities";
+    private static final String SUBJECT_PREFIX = "auth|";
 
-    private final EnvironmentVariables environment;
+    /**
+     * The time during which an issued token is accepted.
+     */
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(24);
+
+    /**
+     * The decoded HMAC secret, computed once instead of on every sign or parse call.
+     */
+    private final byte[] signingKey;
+
+    /**
+     * A parser pre-configured with the signing key.
+     * <p>
+     * Parsing does not mutate the parser, so a single instance is shared between request threads.
+     */
+    private final JwtParser parser;
+
+    public JwtAuthenticationService(EnvironmentVariables environment) {
+        this.signingKey = TextCodec.BASE64.decode(environment.getJwtSecretKey());
+        this.parser = Jwts.parser().setSigningKey(signingKey);
+    }
 
     public <T> T extract(String token, Function<Claims, T> resolver) {
         Claims claims = extract(token);
@@ -53,44 +77,62 @@ public class JwtAuthenticationService {
     }
 
     private Claims extract(String token) {
-        return Jwts.parser()
-            .setSigningKey(environment.getJwtSecretKey())
-            .parseClaimsJws(token)
-            .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String sign(Account account) {
         Instant issuedAt = Instant.now();
-        Instant expiration = issuedAt.plus(24, ChronoUnit.HOURS);
+        Instant expiration = issuedAt.plus(TOKEN_LIFETIME);
 
         return Jwts.builder()
             .claim(EMAIL_KEY, account.getEmail())
-            .setSubject("auth|%s".formatted(account.getId()))
+            .claim(VERSION_KEY, account.getTokenVersion())
+            // Only present when the account holds authorities, as a space-separated list
+            .claim(AUTHORITIES_KEY, account.getAuthorityNames().isEmpty() ? null : String.join(" ", account.getAuthorityNames()))
+            .setSubject(SUBJECT_PREFIX + account.getId())
             .setIssuer("http://localhost/senoir-hub")
             .setIssuedAt(Date.from(issuedAt))
             .setExpiration(Date.from(expiration))
-            .signWith(SignatureAlgorithm.HS256, environment.getJwtSecretKey())
+            .signWith(SignatureAlgorithm.HS256, signingKey)
             .compact();
     }
 
     /**
-     * Checks if the token is valid.
+     * Parses the token once and checks its signature, subject and expiration.
      *
-     * @param token   The token to be verified.
-     * @param account The store user account.
-     * @return true if the token is valid, false otherwise.
+     * @param token The token to be verified.
+     * @return The verified claims, or an empty {@link Optional} if the token is invalid.
      */
-    public boolean verify(String token, Account account) {
-        var claims = extract(token);
-        var expiresAt = claims.getExpiration();
-        var hasEqualUserIds = claims.getSubject().equals("auth|%s".formatted(account.getId()));
-
-        // Check if the token is blank, expired, or will expire soon
-        boolean invalidToken = !hasEqualUserIds || token.isBlank() || hasExpired(expiresAt) || willExpire(expiresAt, Duration.ofMinutes(1));
-
-        return !invalidToken;
+    public Optional<Claims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            var claims = extract(token);
+            var subject = claims.getSubject();
+            var expiresAt = claims.getExpiration();
+
+            // Check if the subject is missing, or the token is expired or will expire soon
+            boolean invalidToken = subject == null || !subject.startsWith(SUBJECT_PREFIX)
+                || expiresAt == null || hasExpired(expiresAt) || willExpire(expiresAt, Duration.ofMinutes(1));
+
+            return invalidToken ? Optional.empty() : Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException exception) {
+            return Optional.empty();
+        }
     }
 
+    /**
+     * Checks if the verified claims were issued for the given account.
+     *
+     * @param claims  The claims returned by {@link #verify(String)}.
+     * @param account The store user account.
+     * @return true if the token subject matches the account, false otherwise.
+     */
+    public boolean isIssuedFor(Claims claims, Account account) {
+        return claims.getSubject().equals(SUBJECT_PREFIX + account.getId());
+    }
 
     private boolean hasExpired(Date expiredAt) {
         return expiredAt.before(new Date());
@@ -111,7 +153,32 @@ public class JwtAuthenticationService {
         return expiresAt.before(minExpirationTime);
     }
 
-    public String extractEmail(String token) {
-        return extract(token, (claims -> claims.get(EMAIL_KEY, String.class)));
+    public String extractEmail(Claims claims) {
+        return claims.get(EMAIL_KEY, String.class);
+    }
+
+    /**
+     * Returns the credential version the token was issued against.
+     * Tokens signed before versions were introduced are treated as version 0.
+     */
+    public long extractVersion(Claims claims) {
+        Number version = claims.get(VERSION_KEY, Number.class);
+        return version == null ? 0 : version.longValue();
+    }
+
+    /**
+     * Rebuilds the account principal from verified claims, without reading the database.
+     * <p>
+     * The returned account has no password, bearer authentication never needs it.
+     *
+     * @param claims The claims returned by {@link #verify(String)}.
+     * @return The account the token was issued for.
+     */
+    public Account toAccount(Claims claims) {
+        return new Account()
+            .setId(claims.getSubject().substring(SUBJECT_PREFIX.length()))
+            .setEmail(extractEmail(claims))
+            .setTokenVersion(extractVersion(claims))
+            .setAuthorityNames(Account.parseAuthorities(claims.get(AUTHORITIES_KEY, String.class)));
     }
 }
@@ -29,6 +29,8 @@ import com.ericafenyo.seniorhub.model.Mail;
 import com.ericafenyo.seniorhub.model.Mail.Context;
 import com.ericafenyo.seniorhub.model.Report;
 
+import java.util.Map;
+
 
 public interface MailService {
   void send(Mail mail);
@@ -36,4 +38,6 @@ public interface MailService {
   Tuple<Report, String> sendVerificationCode(String email);
 
   Report sendInvitation(String email, Context context);
+
+  Report sendInvitations(Map<String, Context> invitations);
 }
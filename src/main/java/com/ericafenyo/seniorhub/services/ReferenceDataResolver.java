@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.entities.CityEntity;
+import com.ericafenyo.seniorhub.entities.CountryEntity;
+import com.ericafenyo.seniorhub.repository.CityRepository;
+import com.ericafenyo.seniorhub.repository.CountryRepository;
+import com.ericafenyo.seniorhub.util.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves the cities and countries of addresses to shared rows, creating them on first use.
+ * <p>
+ * Names are normalized before lookup, and the ids of resolved names are cached, so resolving a known name
+ * never reaches the database. The entities returned are references: assigning them to an address does not
+ * load the row. Lookups run in the transaction of the caller, missing rows are inserted in their own transaction,
+ * and the unique index on the name settles concurrent inserts of the same name.
+ */
+@Service
+public class ReferenceDataResolver {
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration RETENTION = Duration.ofHours(12);
+
+    private final CityRepository cityRepository;
+    private final CountryRepository countryRepository;
+    private final TransactionTemplate newTransaction;
+
+    /**
+     * City ids keyed by normalized name.
+     */
+    private final Cache cities = newCache();
+
+    /**
+     * Country ids keyed by normalized name.
+     */
+    private final Cache countries = newCache();
+
+    public ReferenceDataResolver(
+        CityRepository cityRepository,
+        CountryRepository countryRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.cityRepository = cityRepository;
+        this.countryRepository = countryRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        cities.registerMetrics(meterRegistry, "city-ids");
+        countries.registerMetrics(meterRegistry, "country-ids");
+    }
+
+    /**
+     * Returns the city with the given name, creating it if it does not exist.
+     *
+     * @param name The name of the city.
+     * @return A reference to the city, or null if the name is blank.
+     */
+    public CityEntity resolveCity(String name) {
+        var id = resolve(cities, name, cityRepository::findByName, CityEntity::getId,
+            normalized -> cityRepository.save(new CityEntity().setName(normalized)));
+        return id == null ? null : cityRepository.getReferenceById(id);
+    }
+
+    /**
+     * Returns the country with the given name, creating it if it does not exist.
+     *
+     * @param name The name of the country.
+     * @return A reference to the country, or null if the name is blank.
+     */
+    public CountryEntity resolveCountry(String name) {
+        var id = resolve(countries, name, countryRepository::findByName, CountryEntity::getId,
+            normalized -> countryRepository.save(new CountryEntity().setName(normalized)));
+        return id == null ? null : countryRepository.getReferenceById(id);
+    }
+
+    private <E> Long resolve(
+        Cache cache,
+        String name,
+        Function<String, Optional<E>> finder,
+        Function<E, Long> idOf,
+        Function<String, E> creator
+    ) {
+        var normalized = normalize(name);
+        if (normalized == null) {
+            return null;
+        }
+
+        var key = normalized.toLowerCase(Locale.ROOT);
+        var cached = cache.get(key, Long.class);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // The lookup runs in the transaction of the caller, only a miss takes a second connection
+        var id = finder.apply(normalized).map(idOf).orElseGet(() -> {
+            try {
+                return newTransaction.execute(status -> idOf.apply(creator.apply(normalized)));
+            } catch (DataIntegrityViolationException exception) {
+                // Another request inserted the same name first, its row is the one to use. The snapshot of the
+                // caller may predate that insert, so the row is read in a new transaction.
+                return newTransaction.execute(status -> finder.apply(normalized).map(idOf))
+                    .orElseThrow(() -> exception);
+            }
+        });
+
+        cache.put(key, id);
+        return id;
+    }
+
+    /**
+     * Trims the name and collapses inner whitespace.
+     *
+     * @return The normalized name, or null if the name is blank.
+     */
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.strip().replaceAll("\\s+", " ");
+    }
+
+    private static Cache newCache() {
+        return Cache.builder()
+            .size(MAX_ENTRIES)
+            .duration(RETENTION)
+            .recordStats(true)
+            .build();
+    }
+}
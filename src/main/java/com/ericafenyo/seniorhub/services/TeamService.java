@@ -26,19 +26,46 @@ package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.contexts.CreateTaskContext;
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
 import com.ericafenyo.seniorhub.dto.UpdateTeamRequest;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
 import com.ericafenyo.seniorhub.model.Invitation;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport;
+import com.ericafenyo.seniorhub.model.PagedList;
 import com.ericafenyo.seniorhub.model.Report;
 import com.ericafenyo.seniorhub.model.Task;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TeamService {
     Team createTeam(CreateTeamRequest request, String creatorId) throws HttpException;
 
-    List<Team> getTeams();
+    /**
+     * Returns a page of the teams the user is allowed to read, those in which the role of the user grants
+     * {@code teams:read}, ordered by name and optionally filtered.
+     *
+     * @param userId     The public id of the user.
+     * @param creatorId  The public id of the creator of the teams, or null.
+     * @param memberId   The public id of a member of the teams, or null.
+     * @param namePrefix The beginning of the name of the teams, or null.
+     * @param page       The zero-based index of the page.
+     * @param size       The requested number of teams, bounded by the configured page size limit.
+     * @return The teams of the page.
+     */
+    PagedList<Team> getTeams(String userId, String creatorId, String memberId, String namePrefix, int page, Integer size);
+
+    /**
+     * Writes the teams the user is allowed to read, those in which the role of the user grants
+     * {@code teams:read}, as newline-delimited JSON.
+     *
+     * @param userId The public id of the user.
+     * @param output The stream to write to.
+     */
+    void exportTeams(String userId, OutputStream output) throws IOException;
 
     Team getTeamById(String id) throws HttpException;
 
@@ -46,10 +73,18 @@ public interface TeamService {
 
     void deleteTeam(String id);
 
-    List<Team> getUserTeams(Long id) throws HttpException;
+    /**
+     * Returns the teams the user is a member of, created teams included.
+     *
+     * @param id The internal id of the user.
+     * @return A summary of each team, with the role of the user in it.
+     */
+    List<TeamSummary> getUserTeams(Long id) throws HttpException;
 
     Report invite(String teamId, String inviterId, String role, String email) throws HttpException;
 
+    InvitationBatchReport inviteAll(String teamId, String inviterId, List<InvitationRequest> invitations) throws HttpException;
+
     Invitation validateInvitation(String teamId);
 
     Task createTask(CreateTaskContext context) throws HttpException;
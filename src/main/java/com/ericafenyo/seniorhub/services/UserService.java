@@ -26,26 +26,88 @@ package com.ericafenyo.seniorhub.services;
 
 import com.ericafenyo.seniorhub.dto.CreateTeamRequest;
 import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.ericafenyo.seniorhub.dto.UpdatePasswordRequest;
 import com.ericafenyo.seniorhub.dto.UserUpdateDto;
 import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.model.CursorPage;
 import com.ericafenyo.seniorhub.model.Team;
+import com.ericafenyo.seniorhub.model.TeamSummary;
 import com.ericafenyo.seniorhub.model.User;
+import com.ericafenyo.seniorhub.model.UserImportReport;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 
 public interface UserService {
-    List<User> getUsers();
+    /**
+     * Returns a page of users ordered by creation date.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested number of users, bounded by the configured page size limit.
+     * @return The users of the page and the cursor of the next page.
+     * @throws HttpException If the cursor is malformed.
+     */
+    CursorPage<User> getUsers(String cursor, Integer limit) throws HttpException;
+
+    /**
+     * Writes all the users to the output as newline-delimited JSON.
+     *
+     * @param output The stream to write the users to.
+     * @throws IOException If writing to the output fails.
+     */
+    void exportUsers(OutputStream output) throws IOException;
 
     User getUserById(String id) throws HttpException;
 
     User createUser(CreateUserRequest userCreationDto) throws HttpException;
 
+    /**
+     * Creates the users of a CSV document, see {@link #importUsers(List)}.
+     * <p>
+     * The rows are read as they arrive, a document with too many rows is refused without reading the rest.
+     *
+     * @param csv The UTF-8 CSV document, with a header line naming the columns.
+     * @return The result of each row.
+     * @throws HttpException If the document cannot be read or has too many rows.
+     */
+    UserImportReport importUsers(InputStream csv) throws HttpException;
+
+    /**
+     * Creates users in bulk.
+     * <p>
+     * Each row is validated on its own; invalid rows and rows whose email is already taken are rejected
+     * without failing the others. Rows are inserted in batches, each in its own transaction; an email taken
+     * concurrently only rejects its own row.
+     *
+     * @param requests The users to create.
+     * @return The result of each row.
+     * @throws HttpException If there are more rows than allowed in a single import.
+     */
+    UserImportReport importUsers(List<CreateUserRequest> requests) throws HttpException;
+
     User updateUser(String id, UserUpdateDto updateUserDto);
 
-    void deleteUser(String id);
+    /**
+     * Deletes a user, with their credentials, address and memberships.
+     *
+     * @param id The public id of the user.
+     * @throws HttpException If the user created teams that still exist.
+     */
+    void deleteUser(String id) throws HttpException;
+
+    /**
+     * Replaces the password of the user and revokes every token issued before the change.
+     *
+     * @param id      The unique identifier of the user.
+     * @param request The current and the new password.
+     * @throws HttpException If the user does not exist or the current password is incorrect.
+     */
+    void updatePassword(String id, UpdatePasswordRequest request) throws HttpException;
 
-    List<Team> getUserTeams(String id) throws HttpException;
+    List<TeamSummary> getUserTeams(String id) throws HttpException;
 
     Team createTeam(String id, CreateTeamRequest request) throws HttpException;
 }
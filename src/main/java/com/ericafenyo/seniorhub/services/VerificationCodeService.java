@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.exceptions.HttpException;
+import com.ericafenyo.seniorhub.exceptions.verification.InvalidVerificationCodeException;
+import com.ericafenyo.seniorhub.exceptions.verification.VerificationAttemptsExceededException;
+import com.ericafenyo.seniorhub.model.Report;
+import com.ericafenyo.seniorhub.spi.TextEncoder;
+import com.ericafenyo.seniorhub.spi.VerificationCodeStore;
+import com.ericafenyo.seniorhub.spi.VerificationCodeStore.VerificationCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.stereotype.Service;
+
+import static com.ericafenyo.seniorhub.Messages.MESSAGE_VERIFICATION_CODE_VERIFIED;
+
+/**
+ * Issues and checks the verification codes sent by email.
+ */
+@Service
+@RequiredArgsConstructor
+public class VerificationCodeService {
+    private final VerificationCodeStore store;
+    private final TextEncoder textEncoder;
+    private final EnvironmentVariables environment;
+    private final Messages messages;
+
+    /**
+     * Stores a verification code sent to the given email address.
+     *
+     * @param email The email address the code is sent to.
+     * @param code  The plain verification code.
+     * @return The storage key, needed to verify the code later.
+     */
+    public String issue(String email, String code) {
+        // Hash the code so that it is not stored on our server
+        var encodedCode = textEncoder.encode(code);
+
+        var storageKey = KeyGenerators.string().generateKey();
+        store.put(storageKey, new VerificationCode(email, encodedCode));
+
+        return storageKey;
+    }
+
+    /**
+     * Checks a verification code. A code can only be verified once.
+     *
+     * @param storageKey The storage key returned when the code was issued.
+     * @param code       The plain verification code.
+     * @return A {@link Report} confirming the verification.
+     * @throws HttpException If the code is wrong or expired, or if too many attempts were made.
+     */
+    public Report verify(String storageKey, String code) throws HttpException {
+        var verificationCode = store.get(storageKey).orElseThrow(InvalidVerificationCodeException::new);
+
+        if (store.recordAttempt(storageKey) > environment.getVerificationCodeMaxAttempts()) {
+            store.remove(storageKey);
+            throw new VerificationAttemptsExceededException();
+        }
+
+        if (!textEncoder.match(code, verificationCode.encodedCode())) {
+            throw new InvalidVerificationCodeException();
+        }
+
+        store.remove(storageKey);
+
+        return new Report(messages.get(MESSAGE_VERIFICATION_CODE_VERIFIED));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.spi;
+
+import java.util.Optional;
+
+/**
+ * A store for the verification codes sent by email, keyed by an opaque storage key.
+ * <p>
+ * The default implementation keeps the codes in memory. Deployments running several API nodes can provide
+ * their own bean, backed by a shared store, so that a code can be checked by any node.
+ */
+public interface VerificationCodeStore {
+
+  /**
+   * Stores a verification code, replacing any code already stored under the same key.
+   *
+   * @param key  The storage key.
+   * @param code The verification code.
+   */
+  void put(String key, VerificationCode code);
+
+  /**
+   * Retrieves the verification code stored under the given key.
+   *
+   * @param key The storage key.
+   * @return An {@link Optional} containing the code, or an empty {@link Optional} if it does not exist or has expired.
+   */
+  Optional<VerificationCode> get(String key);
+
+  /**
+   * Records a verification attempt for the code stored under the given key.
+   *
+   * @param key The storage key.
+   * @return The number of attempts made so far, including this one, or 0 if no code is stored under the key.
+   */
+  int recordAttempt(String key);
+
+  /**
+   * Removes the verification code stored under the given key.
+   *
+   * @param key The storage key.
+   */
+  void remove(String key);
+
+  /**
+   * A verification code sent to an email address.
+   *
+   * @param email       The email address the code was sent to.
+   * @param encodedCode The encoded code, the plain code is never stored.
+   */
+  record VerificationCode(String email, String encodedCode) { }
+}
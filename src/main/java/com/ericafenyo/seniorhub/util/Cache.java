@@ -25,10 +25,14 @@
 package com.ericafenyo.seniorhub.util;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.Builder;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * An interface representing a simple caching mechanism.
@@ -37,11 +41,16 @@ public class Cache {
   private final com.github.benmanes.caffeine.cache.Cache<String, Object> caffeineCache;
 
   @Builder
-  public Cache(long size, Duration duration) {
-    caffeineCache = Caffeine.newBuilder()
+  public Cache(long size, Duration duration, boolean recordStats) {
+    var builder = Caffeine.newBuilder()
         .maximumSize(size)
-        .expireAfterWrite(duration)
-        .build();
+        .expireAfterWrite(duration);
+
+    if (recordStats) {
+      builder.recordStats();
+    }
+
+    caffeineCache = builder.build();
   }
 
 
@@ -79,10 +88,39 @@ public class Cache {
     caffeineCache.invalidate(key);
   }
 
+  /**
+   * Removes the entries whose key matches the predicate.
+   *
+   * @param predicate The condition on the keys of the entries to be removed.
+   */
+  public void removeIf(Predicate<String> predicate) {
+    caffeineCache.asMap().keySet().removeIf(predicate);
+  }
+
   /**
    * Clears all entries from the cache.
    */
   public void invalidate() {
     caffeineCache.invalidateAll();
   }
+
+  /**
+   * Returns a snapshot of the hit, miss and eviction counters.
+   * The counters are only recorded if the cache was built with {@code recordStats}.
+   *
+   * @return The cache statistics.
+   */
+  public CacheStats stats() {
+    return caffeineCache.stats();
+  }
+
+  /**
+   * Publishes the cache size and statistics as meters under the given cache name.
+   *
+   * @param registry The registry to bind the meters to.
+   * @param name     The name of the cache, used as the {@code cache} tag.
+   */
+  public void registerMetrics(MeterRegistry registry, String name) {
+    CaffeineCacheMetrics.monitor(registry, caffeineCache, name);
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identifies the database constraints behind integrity violations.
+ */
+public class Constraints {
+
+  /**
+   * Checks whether the given exception, or one of its causes, reports a violation of the given constraint.
+   * <p>
+   * MySQL qualifies the violated key with its table, as in {@code teams.uk_teams_name}, so the table prefix is
+   * ignored when comparing the names.
+   *
+   * @param exception  The exception thrown while writing to the database.
+   * @param constraint The name of the constraint, without table prefix.
+   * @return true if the exception reports a violation of the constraint, false otherwise.
+   */
+  public static boolean isViolated(Throwable exception, String constraint) {
+    for (var cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+        var name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+        return name.equals(constraint) || name.endsWith("." + constraint);
+      }
+    }
+    return false;
+  }
+}
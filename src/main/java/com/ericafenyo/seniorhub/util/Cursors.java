@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.ericafenyo.seniorhub.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset pagination.
+ * <p>
+ * A cursor holds the sort key of the last item of a page, the creation date and the public uuid. Only values
+ * already exposed to clients are encoded, so a cursor never reveals internal ids and a forged cursor can only
+ * point to a position the client could reach anyway.
+ */
+public final class Cursors {
+  private static final String SEPARATOR = "|";
+
+  private Cursors() { }
+
+  public static String encode(Instant createdAt, String id) {
+    var value = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor produced by {@link #encode}.
+   *
+   * @param cursor The cursor received from a client.
+   * @return An {@link Optional} containing the position, or an empty {@link Optional} if the cursor is malformed.
+   */
+  public static Optional<Position> decode(String cursor) {
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var separator = value.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        return Optional.empty();
+      }
+
+      var createdAt = Instant.parse(value.substring(0, separator));
+      var id = UUID.fromString(value.substring(separator + 1)).toString();
+      return Optional.of(new Position(createdAt, id));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * The sort key of the last item returned.
+   */
+  public record Position(Instant createdAt, String id) { }
+}
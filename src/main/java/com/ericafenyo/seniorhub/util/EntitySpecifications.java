@@ -25,10 +25,67 @@
 package com.ericafenyo.seniorhub.util;
 
 
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.TeamMemberEntity;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class EntitySpecifications{
     public static <T> Specification<T> email(String value) {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), value);
     }
+
+    /**
+     * Matches the teams created by the user with the given public id.
+     */
+    public static Specification<TeamEntity> teamCreatedBy(String userId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("creator").get("uuid"), userId);
+    }
+
+    /**
+     * Matches the teams the user with the given public id is a member of.
+     * <p>
+     * Written as an EXISTS on team_user, so the listing is not multiplied by the members of each team.
+     */
+    public static Specification<TeamEntity> teamWithMember(String userId) {
+        return (root, query, criteriaBuilder) -> {
+            var subquery = query.subquery(Long.class);
+            var member = subquery.from(TeamMemberEntity.class);
+            var user = member.join("user");
+            subquery.select(user.<Long>get("id")).where(
+                criteriaBuilder.equal(member.get("team"), root),
+                criteriaBuilder.equal(user.get("uuid"), userId)
+            );
+            return criteriaBuilder.exists(subquery);
+        };
+    }
+
+    /**
+     * Matches the teams in which the user with the given public id holds one of the given roles.
+     *
+     * @param userId  The public id of the member.
+     * @param roleIds The internal ids of the roles, must not be empty.
+     */
+    public static Specification<TeamEntity> teamWithMemberRoles(String userId, Collection<Long> roleIds) {
+        return (root, query, criteriaBuilder) -> {
+            var subquery = query.subquery(Long.class);
+            var member = subquery.from(TeamMemberEntity.class);
+            var user = member.join("user");
+            subquery.select(user.<Long>get("id")).where(
+                criteriaBuilder.equal(member.get("team"), root),
+                criteriaBuilder.equal(user.get("uuid"), userId),
+                member.get("role").get("id").in(roleIds)
+            );
+            return criteriaBuilder.exists(subquery);
+        };
+    }
+
+    /**
+     * Matches the teams whose name starts with the given prefix, using the index on the name.
+     */
+    public static Specification<TeamEntity> teamNameStartsWith(String prefix) {
+        var escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), escaped + "%", '\\');
+    }
 }
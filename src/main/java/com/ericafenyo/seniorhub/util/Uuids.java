@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (C) 2024 Eric Afenyo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.ericafenyo.seniorhub.util;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates and converts the universally unique identifiers exposed publicly by the entities.
+ */
+public class Uuids {
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  /**
+   * Generates a time-ordered (version 7) UUID.
+   * <p>
+   * The first 48 bits hold the Unix time in milliseconds and the remaining bits are random, so successive
+   * identifiers sort in creation order and are appended at the end of the unique index instead of splitting
+   * its pages at random positions.
+   *
+   * @return The string form of the UUID.
+   */
+  public static String timeOrdered() {
+    long millis = System.currentTimeMillis();
+    long mostSignificantBits = (millis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+    long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSignificantBits, leastSignificantBits).toString();
+  }
+
+  /**
+   * Converts the string form of a UUID to its 16 bytes.
+   *
+   * @param uuid The string form of the UUID.
+   * @return The bytes of the UUID, most significant first.
+   * @throws IllegalArgumentException if the string is not a UUID.
+   */
+  public static byte[] toBytes(String uuid) {
+    var value = UUID.fromString(uuid);
+    return ByteBuffer.allocate(16)
+        .putLong(value.getMostSignificantBits())
+        .putLong(value.getLeastSignificantBits())
+        .array();
+  }
+
+  /**
+   * Converts the 16 bytes of a UUID to its string form.
+   *
+   * @param bytes The bytes of the UUID, most significant first.
+   * @return The string form of the UUID.
+   */
+  public static String fromBytes(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+}
@@ -24,51 +24,23 @@
 
 package com.ericafenyo.seniorhub.validation;
 
+import com.ericafenyo.seniorhub.security.RoleCatalog;
 import com.ericafenyo.seniorhub.validation.constraints.UserRole;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import lombok.Getter;
-
-import java.util.Arrays;
 
 public class RoleValidator implements ConstraintValidator<UserRole, String> {
+    private final RoleCatalog roleCatalog;
 
     /**
-     * Enum representing different roles in the application.
+     * Created by Spring's constraint validator factory, which injects the role catalog.
+     *
+     * @param roleCatalog The catalog of the roles stored in the database.
      */
-    @Getter
-    private enum Role {
-        COORDINATOR("coordinator"),
-        AID("aid"),
-        CONSULTANT("consultant"),
-        ADMINISTRATOR("administrator");
-
-        final String slug;
-
-        /**
-         * Constructor for Role enum.
-         *
-         * @param slug The URL-friendly slug associated with the role.
-         */
-        Role(String slug) {
-            this.slug = slug;
-        }
-
-        /**
-         * Retrieves the Role enum based on the given slug.
-         *
-         * @param slug The slug to match.
-         * @return The corresponding Role enum.
-         * @throws IllegalArgumentException If no role is found for the given slug.
-         */
-        @SuppressWarnings("UnusedReturnValue")
-        public static Boolean match(String slug) {
-            return Arrays.stream(values())
-                .anyMatch(role -> role.slug.equalsIgnoreCase(slug));
-        }
+    public RoleValidator(RoleCatalog roleCatalog) {
+        this.roleCatalog = roleCatalog;
     }
 
-
     @Override
     public void initialize(UserRole constraintAnnotation) {
         ConstraintValidator.super.initialize(constraintAnnotation);
@@ -76,6 +48,7 @@ public class RoleValidator implements ConstraintValidator<UserRole, String> {
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext constraintValidatorContext) {
-        return Role.match(value);
+        // Hash lookup on the lower-cased slug
+        return roleCatalog.exists(value);
     }
 }
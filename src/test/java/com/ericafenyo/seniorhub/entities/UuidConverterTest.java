@@ -0,0 +1,30 @@
+package com.ericafenyo.seniorhub.entities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UuidConverterTest {
+	private final UuidConverter converter = new UuidConverter();
+
+	@Test
+	void convertsBothWays() {
+		var uuid = "bb730dd6-a3f1-4f3c-86e3-602fe3caed59";
+
+		assertEquals(uuid, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(uuid)));
+	}
+
+	@Test
+	void mapsMalformedUuidsToAValueMatchingNoRow() {
+		assertEquals(0, converter.convertToDatabaseColumn("not-a-uuid").length);
+		assertEquals(0, converter.convertToDatabaseColumn("").length);
+	}
+
+	@Test
+	void keepsNullsAndIgnoresColumnsOfTheWrongLength() {
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null));
+		assertNull(converter.convertToEntityAttribute(new byte[8]));
+	}
+}
@@ -0,0 +1,100 @@
+package com.ericafenyo.seniorhub.implementation.daos;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DefaultDeletionDaoTest {
+	private final EntityManager manager = mock(EntityManager.class);
+	private final Query statement = mock(Query.class, RETURNS_SELF);
+
+	private DefaultDeletionDao dao;
+
+	@BeforeEach
+	void setUp() {
+		when(statement.executeUpdate()).thenReturn(2);
+		when(manager.createQuery(anyString())).thenReturn(statement);
+		when(manager.createNativeQuery(anyString())).thenReturn(statement);
+
+		dao = new DefaultDeletionDao();
+		ReflectionTestUtils.setField(dao, "manager", manager);
+	}
+
+	@Test
+	void deleteUsersClearsEachTableOnceForTheWholeSet() {
+		selecting("SELECT e.id FROM users", List.of(1L, 2L));
+		selecting("SELECT e.address.id FROM users", List.of(10L, 11L));
+
+		var deleted = dao.deleteUsers(List.of("0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f", "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e90"));
+
+		assertEquals(2, deleted);
+		var order = inOrder(manager, statement);
+		order.verify(manager).createQuery("DELETE FROM credentials as e WHERE e.user.id IN :users");
+		order.verify(manager).createQuery("DELETE FROM team_user as e WHERE e.user.id IN :users");
+		order.verify(manager).createQuery("DELETE FROM users as e WHERE e.id IN :ids");
+		order.verify(statement).setParameter("ids", List.of(1L, 2L));
+		order.verify(manager).createQuery("DELETE FROM addresses as e WHERE e.id IN :ids");
+		order.verify(statement).setParameter("ids", List.of(10L, 11L));
+	}
+
+	@Test
+	void deleteUsersSkipsTheStatementsWhenNoUserMatches() {
+		selecting("SELECT e.id FROM users", List.of());
+
+		assertEquals(0, dao.deleteUsers(List.of("0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f")));
+		assertEquals(0, dao.deleteUsers(List.of()));
+
+		verify(manager, never()).createQuery(anyString());
+		verify(manager, never()).createNativeQuery(anyString());
+	}
+
+	@Test
+	void deleteTeamsClearsTheDependentRowsBeforeTheTeams() {
+		selecting("SELECT e.id FROM teams", List.of(5L));
+		selecting("SELECT e.recurrence.id FROM tasks", List.of());
+
+		var deleted = dao.deleteTeams(List.of("0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f"));
+
+		assertEquals(2, deleted);
+		var order = inOrder(manager);
+		order.verify(manager).createNativeQuery(startsWith("DELETE FROM task_user"));
+		order.verify(manager).createQuery("DELETE FROM tasks as e WHERE e.team.id IN :teams");
+		order.verify(manager).createQuery("DELETE FROM notes as e WHERE e.team.id IN :teams");
+		order.verify(manager).createQuery("DELETE FROM invitations as e WHERE e.team.id IN :teams");
+		order.verify(manager).createQuery("DELETE FROM team_user as e WHERE e.team.id IN :teams");
+		order.verify(manager).createQuery("DELETE FROM teams as e WHERE e.id IN :ids");
+		// Without recurrences there is nothing to delete from their table
+		verify(manager, never()).createQuery("DELETE FROM recurrences as e WHERE e.id IN :ids");
+	}
+
+	@Test
+	void deleteTeamsDoesNothingWithoutIds() {
+		assertEquals(0, dao.deleteTeams(List.of()));
+
+		verifyNoInteractions(manager);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void selecting(String prefix, List<Long> ids) {
+		TypedQuery<Long> query = mock(TypedQuery.class, RETURNS_SELF);
+		when(query.getResultList()).thenReturn(ids);
+		when(manager.createQuery(startsWith(prefix), eq(Long.class))).thenReturn(query);
+	}
+}
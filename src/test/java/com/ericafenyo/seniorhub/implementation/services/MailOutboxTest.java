@@ -0,0 +1,117 @@
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.MailDeadLetterEntity;
+import com.ericafenyo.seniorhub.entities.MailOutboxEntity;
+import com.ericafenyo.seniorhub.model.Mail;
+import com.ericafenyo.seniorhub.repository.MailDeadLetterRepository;
+import com.ericafenyo.seniorhub.repository.MailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailOutboxTest {
+	private final MailOutboxRepository repository = mock(MailOutboxRepository.class);
+	private final MailDeadLetterRepository deadLetterRepository = mock(MailDeadLetterRepository.class);
+	private final SmtpMailSender sender = mock(SmtpMailSender.class);
+
+	private MailOutbox outbox;
+
+	@BeforeEach
+	void setUp() {
+		var environment = new EnvironmentVariables();
+		environment.setMailOutboxBatchSize(100);
+		environment.setMailBatchSize(2);
+		environment.setMailMaxAttempts(3);
+		environment.setMailRetryDelayMillis(1000);
+
+		outbox = new MailOutbox(repository, deadLetterRepository, sender, environment);
+	}
+
+	@Test
+	void relayDeletesTheDeliveredMails() {
+		var first = entry(1L, "jane@example.com", 0);
+		var second = entry(2L, "john@example.com", 0);
+		var third = entry(3L, "anna@example.com", 0);
+		when(repository.lockBatch(any(), any())).thenReturn(List.of(first, second, third));
+		when(sender.send(anyList())).thenReturn(Map.of());
+
+		outbox.relay();
+
+		// One SMTP session per chunk of mail-batch-size mails
+		verify(sender, times(2)).send(anyList());
+		verify(repository).deleteAllByIds(List.of(1L, 2L, 3L));
+		verify(deadLetterRepository, never()).save(any());
+	}
+
+	@Test
+	void relayKeepsAFailedMailForARetry() {
+		var delivered = entry(1L, "jane@example.com", 0);
+		var failed = entry(2L, "john@example.com", 0);
+		when(repository.lockBatch(any(), any())).thenReturn(List.of(delivered, failed));
+		when(sender.send(anyList())).thenAnswer(invocation -> failing(invocation.getArgument(0), "john@example.com"));
+
+		var before = Instant.now();
+		outbox.relay();
+
+		verify(repository).deleteAllByIds(List.of(1L));
+		assertEquals(1, failed.getAttempts());
+		assertTrue(!failed.getNextAttemptAt().isBefore(before.plus(Duration.ofMillis(1000))));
+		verify(deadLetterRepository, never()).save(any());
+	}
+
+	@Test
+	void relayDeadLettersAMailAfterTheLastAttempt() {
+		var failed = entry(1L, "john@example.com", 2);
+		when(repository.lockBatch(any(), any())).thenReturn(List.of(failed));
+		when(sender.send(anyList())).thenAnswer(invocation -> failing(invocation.getArgument(0), "john@example.com"));
+
+		outbox.relay();
+
+		verify(deadLetterRepository).save(argThat((MailDeadLetterEntity letter) ->
+			letter.getRecipient().equals("john@example.com") && letter.getAttempts() == 3 && letter.getError().equals("refused")
+		));
+		verify(repository).deleteAllByIds(List.of(1L));
+	}
+
+	@Test
+	void relayDoesNothingWithoutDueMails() {
+		when(repository.lockBatch(any(), any())).thenReturn(List.of());
+
+		outbox.relay();
+
+		verify(sender, never()).send(anyList());
+		verify(repository, never()).deleteAllByIds(anyList());
+	}
+
+	private static Map<Mail, Exception> failing(List<Mail> mails, String recipient) {
+		return mails.stream()
+			.filter(mail -> mail.getRecipient().equals(recipient))
+			.collect(Collectors.toMap(mail -> mail, mail -> new IllegalStateException("refused")));
+	}
+
+	private static MailOutboxEntity entry(Long id, String recipient, int attempts) {
+		return new MailOutboxEntity()
+			.setId(id)
+			.setRecipient(recipient)
+			.setSubject("Welcome")
+			.setBody("Hello")
+			.setAttempts(attempts);
+	}
+}
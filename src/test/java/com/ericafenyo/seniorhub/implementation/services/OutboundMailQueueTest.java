@@ -0,0 +1,115 @@
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.MailDeadLetterEntity;
+import com.ericafenyo.seniorhub.model.Mail;
+import com.ericafenyo.seniorhub.repository.MailDeadLetterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundMailQueueTest {
+	private final SmtpMailSender sender = mock(SmtpMailSender.class);
+	private final MailDeadLetterRepository deadLetterRepository = mock(MailDeadLetterRepository.class);
+	private final Mail mail = Mail.builder().recipient("jane@example.com").subject("Welcome").body("Hello").build();
+
+	private OutboundMailQueue queue;
+
+	@BeforeEach
+	void setUp() {
+		var environment = new EnvironmentVariables();
+		environment.setMailQueueCapacity(10);
+		environment.setMailQueueWorkers(1);
+		environment.setMailBatchSize(10);
+		environment.setMailMaxAttempts(3);
+		environment.setMailRetryDelayMillis(1);
+
+		queue = new OutboundMailQueue(sender, deadLetterRepository, environment);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		queue.stop();
+	}
+
+	@Test
+	void backoffDoublesAfterEachAttempt() {
+		assertEquals(Duration.ofMillis(100), OutboundMailQueue.backoff(100, 1));
+		assertEquals(Duration.ofMillis(200), OutboundMailQueue.backoff(100, 2));
+		assertEquals(Duration.ofMillis(400), OutboundMailQueue.backoff(100, 3));
+	}
+
+	@Test
+	void retriesAFailedMailUntilItIsDelivered() {
+		when(sender.send(anyList())).thenReturn(Map.of(mail, new IllegalStateException("busy")), Map.of());
+
+		queue.start();
+		queue.enqueue(mail);
+
+		verify(sender, timeout(1000).times(2)).send(List.of(mail));
+		verify(deadLetterRepository, after(100).never()).save(any());
+	}
+
+	@Test
+	void retriesMailsOfABatchThatFailedAsAWhole() {
+		when(sender.send(anyList())).thenThrow(new IllegalStateException("unreachable")).thenReturn(Map.of());
+
+		queue.start();
+		queue.enqueue(mail);
+
+		verify(sender, timeout(1000).times(2)).send(List.of(mail));
+		verify(deadLetterRepository, after(100).never()).save(any());
+	}
+
+	@Test
+	void deadLettersAMailThatFailsEveryAttempt() {
+		when(sender.send(anyList())).thenReturn(Map.of(mail, new IllegalStateException("refused")));
+
+		queue.start();
+		queue.enqueue(mail);
+
+		verify(deadLetterRepository, timeout(1000)).save(argThat((MailDeadLetterEntity letter) ->
+			letter.getRecipient().equals("jane@example.com") && letter.getAttempts() == 3 && letter.getError().equals("refused")
+		));
+		verify(sender, times(3)).send(List.of(mail));
+	}
+
+	@Test
+	void stopDeadLettersTheMailsNotDeliveredYet() throws InterruptedException {
+		queue.enqueue(mail);
+
+		queue.stop();
+
+		verify(deadLetterRepository).save(argThat((MailDeadLetterEntity letter) ->
+			letter.getAttempts() == 1 && letter.getError().equals("Application shut down before delivery")
+		));
+		verify(sender, never()).send(anyList());
+	}
+
+	@Test
+	void enqueueRejectsMailsOnceTheQueueIsFull() {
+		for (int i = 0; i < 10; i++) {
+			queue.enqueue(mail);
+		}
+
+		assertFalse(queue.offer(mail));
+		assertEquals(10, queue.size());
+	}
+}
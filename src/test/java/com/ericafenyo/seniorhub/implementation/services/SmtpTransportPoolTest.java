@@ -0,0 +1,104 @@
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SmtpTransportPoolTest {
+	private final JavaMailSenderImpl mailSender = mock(JavaMailSenderImpl.class);
+	private final Session session = mock(Session.class);
+	private final Transport first = mock(Transport.class);
+	private final Transport second = mock(Transport.class);
+
+	@BeforeEach
+	void setUp() throws MessagingException {
+		when(mailSender.getSession()).thenReturn(session);
+		when(session.getTransport("smtp")).thenReturn(first, second);
+		when(first.isConnected()).thenReturn(true);
+		when(second.isConnected()).thenReturn(true);
+	}
+
+	@Test
+	void borrowReusesAReleasedTransport() throws Exception {
+		var pool = pool(2, 60);
+
+		pool.release(pool.borrow());
+
+		assertSame(first, pool.borrow());
+		verify(session, times(1)).getTransport("smtp");
+		verify(first, never()).close();
+	}
+
+	@Test
+	void borrowConnectsAgainAfterAnInvalidatedTransport() throws Exception {
+		var pool = pool(1, 60);
+
+		pool.invalidate(pool.borrow());
+
+		assertSame(second, pool.borrow());
+		verify(first).close();
+	}
+
+	@Test
+	void borrowReplacesADisconnectedTransport() throws Exception {
+		var pool = pool(1, 60);
+		pool.release(pool.borrow());
+		when(first.isConnected()).thenReturn(false);
+
+		assertSame(second, pool.borrow());
+		verify(first).close();
+	}
+
+	@Test
+	void borrowWaitsWhileEveryTransportIsInUse() throws Exception {
+		var pool = pool(1, 60);
+		var transport = pool.borrow();
+
+		var pending = CompletableFuture.supplyAsync(() -> {
+			try {
+				return pool.borrow();
+			} catch (Exception exception) {
+				throw new IllegalStateException(exception);
+			}
+		});
+
+		assertThrows(TimeoutException.class, () -> pending.get(100, TimeUnit.MILLISECONDS));
+		pool.release(transport);
+		assertSame(first, pending.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void evictIdleClosesTheExpiredSessions() throws Exception {
+		var pool = pool(1, 0);
+		pool.release(pool.borrow());
+		Thread.sleep(5);
+
+		pool.evictIdle();
+
+		verify(first).close();
+		assertSame(second, pool.borrow());
+	}
+
+	private SmtpTransportPool pool(int size, long idleTimeoutSeconds) {
+		var environment = new EnvironmentVariables();
+		environment.setMailPoolSize(size);
+		environment.setMailPoolIdleTimeoutSeconds(idleTimeoutSeconds);
+		return new SmtpTransportPool(mailSender, environment);
+	}
+}
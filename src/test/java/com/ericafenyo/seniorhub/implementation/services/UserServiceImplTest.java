@@ -0,0 +1,204 @@
+package com.ericafenyo.seniorhub.implementation.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.dao.DeletionDao;
+import com.ericafenyo.seniorhub.dao.UserImportDao;
+import com.ericafenyo.seniorhub.dto.AddressDto;
+import com.ericafenyo.seniorhub.dto.CreateUserRequest;
+import com.ericafenyo.seniorhub.entities.CredentialEntity;
+import com.ericafenyo.seniorhub.events.AccountChangedEvent;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
+import com.ericafenyo.seniorhub.events.TokensRevokedEvent;
+import com.ericafenyo.seniorhub.exceptions.ConflictException;
+import com.ericafenyo.seniorhub.implementation.utils.NdjsonWriter;
+import com.ericafenyo.seniorhub.implementation.utils.PasswordHashingPool;
+import com.ericafenyo.seniorhub.implementation.utils.UserCsvReader;
+import com.ericafenyo.seniorhub.mapper.UserMapper;
+import com.ericafenyo.seniorhub.model.UserImportReport.Result;
+import com.ericafenyo.seniorhub.model.UserImportReport.Status;
+import com.ericafenyo.seniorhub.repository.CredentialRepository;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
+import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.services.ReferenceDataResolver;
+import com.ericafenyo.seniorhub.services.TeamService;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+	private static final String USER_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f";
+	private static final String DUPLICATE_EMAIL = "The email address already belongs to a user or appears more than once in the import";
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final TeamRepository teamRepository = mock(TeamRepository.class);
+	private final UserImportDao userImportDao = mock(UserImportDao.class);
+	private final DeletionDao deletionDao = mock(DeletionDao.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final PasswordHashingPool passwordHashingPool = mock(PasswordHashingPool.class);
+
+	private UserServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		var environment = new EnvironmentVariables();
+		environment.setUserImportMaxRows(10);
+
+		var source = new ResourceBundleMessageSource();
+		source.setBasename("messages");
+
+		when(passwordHashingPool.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+			.map(password -> "hash:" + password)
+			.toList());
+
+		service = new UserServiceImpl(
+			mock(PasswordEncoder.class),
+			mock(UserMapper.class),
+			new Messages(source),
+			environment,
+			userRepository,
+			teamRepository,
+			mock(CredentialRepository.class),
+			mock(ReferenceDataResolver.class),
+			userImportDao,
+			deletionDao,
+			mock(TeamService.class),
+			eventPublisher,
+			mock(NdjsonWriter.class),
+			mock(UserCsvReader.class),
+			passwordHashingPool,
+			mock(Validator.class)
+		);
+	}
+
+	@Test
+	void importUsersRetriesTheRowsOfAConflictingBatchOneByOne() throws Exception {
+		// The batch fails on the second email, taken since the emails were checked
+		doThrow(emailConflict())
+			.doNothing()
+			.doThrow(emailConflict())
+			.doNothing()
+			.when(userImportDao).insertAll(anyList());
+
+		var report = service.importUsers(List.of(
+			request("jane@example.com"),
+			request("john@example.com"),
+			request("anna@example.com")
+		));
+
+		assertEquals("2 of 3 users have been imported", report.getMessage());
+		var results = report.getResults();
+		assertEquals(Status.CREATED, results.get(0).status());
+		assertEquals(Result.rejected(2, "john@example.com", DUPLICATE_EMAIL), results.get(1));
+		assertEquals(Status.CREATED, results.get(2).status());
+
+		verify(userImportDao, times(4)).insertAll(anyList());
+		verify(userImportDao).insertAll(argThat((List<CredentialEntity> credentials) ->
+			credentials.size() == 1 && credentials.get(0).getPassword().equals("hash:Secret-john@example.com")
+		));
+	}
+
+	@Test
+	void importUsersRejectsTheEmailsAlreadyTakenWithoutInsertingThem() throws Exception {
+		when(userRepository.findExistingEmails(anyList())).thenReturn(List.of("JANE@example.com"));
+		doNothing().when(userImportDao).insertAll(anyList());
+
+		var report = service.importUsers(List.of(request("jane@example.com"), request("john@example.com")));
+
+		assertEquals(Result.rejected(1, "jane@example.com", DUPLICATE_EMAIL), report.getResults().get(0));
+		assertEquals(Status.CREATED, report.getResults().get(1).status());
+		verify(userImportDao, times(1)).insertAll(argThat((List<CredentialEntity> credentials) ->
+			credentials.size() == 1 && credentials.get(0).getUser().getEmail().equals("john@example.com")
+		));
+	}
+
+	@Test
+	void importUsersRethrowsOtherIntegrityViolations() {
+		var violation = new DataIntegrityViolationException("Duplicate entry",
+			new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), "users.uk_users_uuid"));
+		doThrow(violation).when(userImportDao).insertAll(anyList());
+
+		assertThrows(DataIntegrityViolationException.class, () -> service.importUsers(List.of(request("jane@example.com"))));
+	}
+
+	@Test
+	void deleteUserPublishesTheChangesOfADeletedUser() throws Exception {
+		when(userRepository.findEmailById(USER_ID)).thenReturn(Optional.of("jane@example.com"));
+		when(deletionDao.deleteUsers(List.of(USER_ID))).thenReturn(1);
+
+		service.deleteUser(USER_ID);
+
+		verify(eventPublisher).publishEvent(new AccountChangedEvent("jane@example.com"));
+		verify(eventPublisher).publishEvent(new TeamMembershipChangedEvent(null, USER_ID));
+		verify(eventPublisher).publishEvent(new TokensRevokedEvent(USER_ID, Long.MAX_VALUE));
+	}
+
+	@Test
+	void deleteUserPublishesNothingWhenNoUserWasDeleted() throws Exception {
+		when(userRepository.findEmailById(USER_ID)).thenReturn(Optional.of("jane@example.com"));
+		when(deletionDao.deleteUsers(List.of(USER_ID))).thenReturn(0);
+
+		service.deleteUser(USER_ID);
+
+		verifyNoInteractions(eventPublisher);
+	}
+
+	@Test
+	void deleteUserSkipsTheDeletionOfAnUnknownUser() throws Exception {
+		when(userRepository.findEmailById(USER_ID)).thenReturn(Optional.empty());
+
+		service.deleteUser(USER_ID);
+
+		verifyNoInteractions(deletionDao, eventPublisher);
+	}
+
+	@Test
+	void deleteUserRefusesTheCreatorOfATeam() {
+		when(teamRepository.existsByCreatorUuid(USER_ID)).thenReturn(true);
+
+		assertThrows(ConflictException.class, () -> service.deleteUser(USER_ID));
+		verifyNoInteractions(deletionDao, eventPublisher);
+	}
+
+	private static DataIntegrityViolationException emailConflict() {
+		return new DataIntegrityViolationException("Duplicate entry",
+			new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), "users.uk_users_email"));
+	}
+
+	private static CreateUserRequest request(String email) {
+		var address = new AddressDto();
+		address.setStreet("1 Main Street");
+		address.setPostalCode("75001");
+		address.setCity("Paris");
+		address.setCountry("France");
+
+		var request = new CreateUserRequest();
+		request.setFirstName("Jane");
+		request.setLastName("Doe");
+		request.setEmail(email);
+		request.setPassword("Secret-" + email);
+		request.setAddress(address);
+		return request;
+	}
+}
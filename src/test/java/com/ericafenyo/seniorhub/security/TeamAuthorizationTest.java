@@ -0,0 +1,141 @@
+package com.ericafenyo.seniorhub.security;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.entities.PermissionEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.events.TeamMembershipChangedEvent;
+import com.ericafenyo.seniorhub.model.Account;
+import com.ericafenyo.seniorhub.repository.RoleRepository;
+import com.ericafenyo.seniorhub.repository.TeamMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TeamAuthorizationTest {
+	private static final String USER_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f";
+	private static final String TEAM_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e90";
+	private static final String OTHER_TEAM_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e91";
+
+	private final TeamMemberRepository teamMemberRepository = mock(TeamMemberRepository.class);
+	private final Authentication authentication = authentication(USER_ID);
+
+	private TeamAuthorization authorization;
+
+	@BeforeEach
+	void setUp() {
+		var roleRepository = mock(RoleRepository.class);
+		when(roleRepository.findAllWithPermissions()).thenReturn(List.of(
+			role(1L, "coordinator", permission(1L, "teams:read"), permission(2L, "teams:update")),
+			role(2L, "member", permission(1L, "teams:read"))
+		));
+		var roleCatalog = new RoleCatalog(roleRepository);
+		roleCatalog.load();
+
+		var environment = new EnvironmentVariables();
+		environment.setTeamRoleCacheSize(100);
+		environment.setTeamRoleCacheTtlSeconds(60);
+
+		authorization = new TeamAuthorization(teamMemberRepository, roleCatalog, environment, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void hasPermissionGrantsThePermissionsOfTheMemberRole() {
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.of(2L));
+
+		assertTrue(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertFalse(authorization.hasPermission(authentication, TEAM_ID, "teams:update"));
+	}
+
+	@Test
+	void hasPermissionDeniesNonMembers() {
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.empty());
+
+		assertFalse(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertFalse(authorization.hasPermission(null, TEAM_ID, "teams:read"));
+		assertFalse(authorization.hasPermission(authentication, null, "teams:read"));
+	}
+
+	@Test
+	void hasPermissionCachesTheRoleOfMembersAndNonMembers() {
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.of(2L));
+		when(teamMemberRepository.findRoleId(OTHER_TEAM_ID, USER_ID)).thenReturn(Optional.empty());
+
+		authorization.hasPermission(authentication, TEAM_ID, "teams:read");
+		authorization.hasPermission(authentication, TEAM_ID, "teams:update");
+		authorization.hasPermission(authentication, OTHER_TEAM_ID, "teams:read");
+		authorization.hasPermission(authentication, OTHER_TEAM_ID, "teams:read");
+
+		verify(teamMemberRepository, times(1)).findRoleId(TEAM_ID, USER_ID);
+		verify(teamMemberRepository, times(1)).findRoleId(OTHER_TEAM_ID, USER_ID);
+	}
+
+	@Test
+	void onMembershipChangedEvictsTheRoleOfTheMember() {
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.empty(), Optional.of(1L));
+		assertFalse(authorization.hasPermission(authentication, TEAM_ID, "teams:update"));
+
+		authorization.onMembershipChanged(new TeamMembershipChangedEvent(TEAM_ID, USER_ID));
+
+		assertTrue(authorization.hasPermission(authentication, TEAM_ID, "teams:update"));
+	}
+
+	@Test
+	void onMembershipChangedEvictsEveryTeamOfADeletedUser() {
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.of(2L), Optional.empty());
+		when(teamMemberRepository.findRoleId(OTHER_TEAM_ID, USER_ID)).thenReturn(Optional.of(1L), Optional.empty());
+		assertTrue(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertTrue(authorization.hasPermission(authentication, OTHER_TEAM_ID, "teams:read"));
+
+		authorization.onMembershipChanged(new TeamMembershipChangedEvent(null, USER_ID));
+
+		assertFalse(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertFalse(authorization.hasPermission(authentication, OTHER_TEAM_ID, "teams:read"));
+	}
+
+	@Test
+	void onMembershipChangedEvictsEveryMemberOfADeletedTeam() {
+		var other = authentication("0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e92");
+		when(teamMemberRepository.findRoleId(TEAM_ID, USER_ID)).thenReturn(Optional.of(2L), Optional.empty());
+		when(teamMemberRepository.findRoleId(TEAM_ID, "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e92")).thenReturn(Optional.of(2L), Optional.empty());
+		assertTrue(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertTrue(authorization.hasPermission(other, TEAM_ID, "teams:read"));
+
+		authorization.onMembershipChanged(new TeamMembershipChangedEvent(TEAM_ID, null));
+
+		assertFalse(authorization.hasPermission(authentication, TEAM_ID, "teams:read"));
+		assertFalse(authorization.hasPermission(other, TEAM_ID, "teams:read"));
+	}
+
+	private static Authentication authentication(String userId) {
+		var account = new Account(userId, "jane@example.com", "secret", 0);
+		return new UsernamePasswordAuthenticationToken(account, null, List.of());
+	}
+
+	private static RoleEntity role(Long id, String slug, PermissionEntity... permissions) {
+		var role = new RoleEntity();
+		role.setId(id);
+		role.setSlug(slug);
+		role.setName(slug);
+		role.setPermissions(List.of(permissions));
+		return role;
+	}
+
+	private static PermissionEntity permission(Long id, String name) {
+		var permission = new PermissionEntity();
+		permission.setId(id);
+		permission.setName(name);
+		return permission;
+	}
+}
@@ -0,0 +1,156 @@
+package com.ericafenyo.seniorhub.services;
+
+import com.ericafenyo.seniorhub.EnvironmentVariables;
+import com.ericafenyo.seniorhub.Messages;
+import com.ericafenyo.seniorhub.dao.InvitationDao;
+import com.ericafenyo.seniorhub.dto.InvitationRequest;
+import com.ericafenyo.seniorhub.entities.InvitationEntity;
+import com.ericafenyo.seniorhub.entities.PermissionEntity;
+import com.ericafenyo.seniorhub.entities.RoleEntity;
+import com.ericafenyo.seniorhub.entities.TeamEntity;
+import com.ericafenyo.seniorhub.entities.UserEntity;
+import com.ericafenyo.seniorhub.mapper.InvitationMapper;
+import com.ericafenyo.seniorhub.model.InvitationBatchReport.Result;
+import com.ericafenyo.seniorhub.repository.InvitationRepository;
+import com.ericafenyo.seniorhub.repository.RoleRepository;
+import com.ericafenyo.seniorhub.repository.TeamMemberRepository;
+import com.ericafenyo.seniorhub.repository.TeamRepository;
+import com.ericafenyo.seniorhub.repository.UserRepository;
+import com.ericafenyo.seniorhub.security.RoleCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvitationServiceImplTest {
+	private static final String TEAM_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e8f";
+	private static final String INVITER_ID = "0191f2a6-5b6e-7c1d-8e2f-3a4b5c6d7e90";
+
+	private final MailService mailService = mock(MailService.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final TeamRepository teamRepository = mock(TeamRepository.class);
+	private final TeamMemberRepository teamMemberRepository = mock(TeamMemberRepository.class);
+	private final RoleRepository roleRepository = mock(RoleRepository.class);
+	private final InvitationDao invitationDao = mock(InvitationDao.class);
+
+	private final RoleEntity coordinator = role(1L, "coordinator", permission(1L, "teams:read"), permission(2L, "members:invite"));
+	private final RoleEntity administrator = role(2L, "administrator", permission(1L, "teams:read"), permission(2L, "members:invite"), permission(3L, "teams:delete"));
+
+	private InvitationServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		var environment = new EnvironmentVariables();
+		environment.setBaseUrl("http://localhost:8080");
+		environment.setInvitationExpirySeconds(3600L);
+
+		var source = new ResourceBundleMessageSource();
+		source.setBasename("messages");
+
+		when(roleRepository.findAll()).thenReturn(List.of(coordinator, administrator));
+		when(roleRepository.findAllWithPermissions()).thenReturn(List.of(coordinator, administrator));
+		var roleCatalog = new RoleCatalog(roleRepository);
+		ReflectionTestUtils.invokeMethod(roleCatalog, "load");
+
+		when(userRepository.findById(INVITER_ID)).thenReturn(Optional.of(new UserEntity()));
+		when(teamRepository.findById(TEAM_ID)).thenReturn(Optional.of(new TeamEntity()));
+		when(teamMemberRepository.findRoleId(TEAM_ID, INVITER_ID)).thenReturn(Optional.of(coordinator.getId()));
+
+		service = new InvitationServiceImpl(
+			environment,
+			mock(InvitationMapper.class),
+			mock(InvitationRepository.class),
+			mailService,
+			userRepository,
+			new Messages(source),
+			teamRepository,
+			teamMemberRepository,
+			roleRepository,
+			invitationDao,
+			roleCatalog,
+			mock(ApplicationEventPublisher.class)
+		);
+	}
+
+	@Test
+	void inviteAllReportsTheResultOfEachRequest() throws Exception {
+		var report = service.inviteAll(TEAM_ID, INVITER_ID, List.of(
+			request("jane@example.com", "Coordinator"),
+			request("not an email", "coordinator"),
+			request("JANE@example.com", "coordinator"),
+			request("john@example.com", "nurse"),
+			request("anna@example.com", "administrator")
+		));
+
+		assertEquals("1 of 5 invitations have been queued for delivery", report.getMessage());
+		assertEquals(List.of(
+			Result.invited("jane@example.com"),
+			Result.rejected("not an email", "The email address is not valid"),
+			Result.rejected("JANE@example.com", "The email address appears more than once in the request"),
+			Result.rejected("john@example.com", "The role 'nurse' does not exist"),
+			Result.rejected("anna@example.com", "The role 'administrator' grants permissions the inviter does not hold")
+		), report.getResults());
+	}
+
+	@Test
+	void inviteAllInsertsAndMailsOnlyTheAcceptedInvitations() throws Exception {
+		service.inviteAll(TEAM_ID, INVITER_ID, List.of(
+			request("jane@example.com", "coordinator"),
+			request("john@example.com", "nurse")
+		));
+
+		verify(invitationDao).insertAll(argThat((List<InvitationEntity> invitations) ->
+			invitations.size() == 1
+				&& invitations.get(0).getEmail().equals("jane@example.com")
+				&& invitations.get(0).getRole() == coordinator
+		));
+		verify(mailService).sendInvitations(argThat(mails -> mails.keySet().equals(Set.of("jane@example.com"))));
+	}
+
+	@Test
+	void inviteAllSendsNothingWhenEveryRequestIsRejected() throws Exception {
+		var report = service.inviteAll(TEAM_ID, INVITER_ID, List.of(request("not an email", "coordinator")));
+
+		assertEquals("0 of 1 invitations have been queued for delivery", report.getMessage());
+		verify(invitationDao, never()).insertAll(anyList());
+		verify(mailService, never()).sendInvitations(anyMap());
+	}
+
+	private static InvitationRequest request(String email, String role) {
+		var request = new InvitationRequest();
+		request.setEmail(email);
+		request.setRole(role);
+		return request;
+	}
+
+	private static RoleEntity role(Long id, String slug, PermissionEntity... permissions) {
+		var role = new RoleEntity();
+		role.setId(id);
+		role.setSlug(slug);
+		role.setName(slug);
+		role.setPermissions(new ArrayList<>(List.of(permissions)));
+		return role;
+	}
+
+	private static PermissionEntity permission(Long id, String name) {
+		var permission = new PermissionEntity();
+		permission.setId(id);
+		permission.setName(name);
+		return permission;
+	}
+}
@@ -0,0 +1,41 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConstraintsTest {
+
+	@Test
+	void isViolatedFindsTheConstraintInTheCauses() {
+		var exception = new DataIntegrityViolationException("Duplicate entry", violation("uk_users_email"));
+
+		assertTrue(Constraints.isViolated(exception, "uk_users_email"));
+	}
+
+	@Test
+	void isViolatedIgnoresTheTablePrefixAndCase() {
+		assertTrue(Constraints.isViolated(violation("users.UK_USERS_EMAIL"), "uk_users_email"));
+	}
+
+	@Test
+	void isViolatedRejectsOtherConstraints() {
+		assertFalse(Constraints.isViolated(violation("users.uk_users_uuid"), "uk_users_email"));
+		assertFalse(Constraints.isViolated(violation("uk_users_email_old"), "uk_users_email"));
+	}
+
+	@Test
+	void isViolatedRejectsExceptionsWithoutConstraint() {
+		assertFalse(Constraints.isViolated(violation(null), "uk_users_email"));
+		assertFalse(Constraints.isViolated(new IllegalStateException(), "uk_users_email"));
+	}
+
+	private static ConstraintViolationException violation(String constraint) {
+		return new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraint);
+	}
+}
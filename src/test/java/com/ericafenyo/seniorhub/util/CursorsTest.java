@@ -0,0 +1,39 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CursorsTest {
+
+	@Test
+	void decodeReturnsTheEncodedPosition() {
+		var createdAt = Instant.parse("2024-08-25T10:34:44.596465Z");
+		var id = "bb730dd6-a3f1-4f3c-86e3-602fe3caed59";
+
+		var position = Cursors.decode(Cursors.encode(createdAt, id));
+
+		assertEquals(Optional.of(new Cursors.Position(createdAt, id)), position);
+	}
+
+	@Test
+	void decodeRejectsMalformedCursors() {
+		assertEquals(Optional.empty(), Cursors.decode("not a cursor"));
+		assertEquals(Optional.empty(), Cursors.decode(encode("2024-08-25T10:34:44Z")));
+		assertEquals(Optional.empty(), Cursors.decode(encode("yesterday|bb730dd6-a3f1-4f3c-86e3-602fe3caed59")));
+	}
+
+	@Test
+	void decodeRejectsInternalIds() {
+		assertEquals(Optional.empty(), Cursors.decode(encode("2024-08-25T10:34:44Z|1")));
+	}
+
+	private static String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
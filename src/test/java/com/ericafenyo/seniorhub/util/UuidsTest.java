@@ -0,0 +1,68 @@
+package com.ericafenyo.seniorhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidsTest {
+
+	@Test
+	void toBytesAndFromBytesRoundTrip() {
+		var uuid = "bb730dd6-a3f1-4f3c-86e3-602fe3caed59";
+
+		var bytes = Uuids.toBytes(uuid);
+
+		assertEquals(16, bytes.length);
+		assertEquals(uuid, Uuids.fromBytes(bytes));
+	}
+
+	@Test
+	void toBytesPutsTheMostSignificantByteFirst() {
+		var bytes = Uuids.toBytes("00112233-4455-6677-8899-aabbccddeeff");
+
+		assertArrayEquals(new byte[]{
+			0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77,
+			(byte) 0x88, (byte) 0x99, (byte) 0xaa, (byte) 0xbb, (byte) 0xcc, (byte) 0xdd, (byte) 0xee, (byte) 0xff
+		}, bytes);
+	}
+
+	@Test
+	void toBytesRejectsMalformedUuids() {
+		assertThrows(IllegalArgumentException.class, () -> Uuids.toBytes("not-a-uuid"));
+	}
+
+	@Test
+	void timeOrderedSetsTheVersionAndVariant() {
+		var uuid = UUID.fromString(Uuids.timeOrdered());
+
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+	}
+
+	@Test
+	void timeOrderedStartsWithTheCurrentTime() {
+		long before = System.currentTimeMillis();
+		var uuid = UUID.fromString(Uuids.timeOrdered());
+		long after = System.currentTimeMillis();
+
+		long millis = uuid.getMostSignificantBits() >>> 16;
+		assertTrue(millis >= before && millis <= after);
+	}
+
+	@Test
+	void timeOrderedSortsInCreationOrder() throws InterruptedException {
+		var first = Uuids.timeOrdered();
+		Thread.sleep(2);
+		var second = Uuids.timeOrdered();
+
+		// BINARY(16) columns compare unsigned bytes, the string form sorts the same way
+		assertTrue(Arrays.compareUnsigned(Uuids.toBytes(first), Uuids.toBytes(second)) < 0);
+		assertTrue(first.compareTo(second) < 0);
+	}
+}